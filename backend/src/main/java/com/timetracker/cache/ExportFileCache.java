@@ -0,0 +1,220 @@
+package com.timetracker.cache;
+
+import com.timetracker.event.TasksChangedEvent;
+import com.timetracker.event.TimeEntriesChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk cache for exports of closed periods (ranges that ended at least {@code closed-after-days} ago).
+ * <p>
+ * Files live under {@code <directory>/<userId>/<name>_<start>_<end>.<extension>} and are written once,
+ * to a temporary file that is moved into place when complete. Any change to a time entry inside a
+ * cached range deletes the file after commit, and so does renaming one of the user's tasks or
+ * categories for all of their files; a file generated while such a change of its user was committed
+ * is discarded (also when it was already moved into place), and its requester gets a fresh export
+ * streamed instead.
+ */
+@Component
+@Slf4j
+public class ExportFileCache {
+
+    /**
+     * Produces the file content on a cache miss
+     */
+    @FunctionalInterface
+    public interface Generator {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int closedAfterDays;
+
+    // Per user, bumped on every invalidation of that user's files; a file generated across an
+    // invalidation of its user is not kept
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ExportFileCache(@Value("${app.export.cache.enabled:true}") boolean enabled,
+                           @Value("${app.export.cache.directory:${java.io.tmpdir}/timetracker-export-cache}") Path directory,
+                           @Value("${app.export.cache.closed-after-days:1}") int closedAfterDays) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.closedAfterDays = closedAfterDays;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        // Leftovers from generations interrupted by a shutdown
+        try (var files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX)).forEach(this::deleteQuietly);
+        }
+        log.info("Export cache at {}", directory.toAbsolutePath());
+    }
+
+    /**
+     * Whether exports of a range ending on this date may be cached
+     */
+    public boolean isCacheable(LocalDate endDate) {
+        return enabled && endDate.plusDays(closedAfterDays).isBefore(LocalDate.now().plusDays(1));
+    }
+
+    /**
+     * Path of the cached file, generating it first on a miss
+     *
+     * @return empty if the data changed while generating; nothing is cached then
+     */
+    public Optional<Path> get(Long userId, String name, LocalDate startDate, LocalDate endDate, String extension,
+                    Generator generator) throws IOException {
+        Path file = userDirectory(userId).resolve(name + "_" + startDate + "_" + endDate + "." + extension);
+        if (Files.isRegularFile(file)) {
+            log.debug("Export cache hit: {}", file);
+            return Optional.of(file);
+        }
+
+        AtomicLong userGeneration = generation(userId);
+        long generation = userGeneration.get();
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), TEMP_SUFFIX);
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                generator.write(out);
+            }
+            if (userGeneration.get() != generation) {
+                // The data changed while generating, so this copy may already be outdated
+                deleteQuietly(temp);
+                return Optional.empty();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (userGeneration.get() != generation) {
+                // Invalidated between the check and the move, possibly after its files were deleted
+                deleteQuietly(file);
+                return Optional.empty();
+            }
+            log.debug("Export cached: {} ({} bytes)", file, Files.size(file));
+            return Optional.of(file);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Delete every cached export of the user whose range covers one of the dates
+     */
+    public void invalidate(Long userId, Iterable<LocalDate> dates) {
+        generation(userId).incrementAndGet();
+        Path userDirectory = userDirectory(userId);
+        if (!enabled || !Files.isDirectory(userDirectory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(userDirectory)) {
+            for (Path file : files) {
+                if (covers(file.getFileName().toString(), dates)) {
+                    deleteQuietly(file);
+                    log.debug("Export cache invalidated: {}", file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not invalidate export cache for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete every cached export of the user
+     */
+    public void invalidateAll(Long userId) {
+        generation(userId).incrementAndGet();
+        Path userDirectory = userDirectory(userId);
+        if (!enabled || !Files.isDirectory(userDirectory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(userDirectory)) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(file);
+                }
+            }
+            log.debug("Export cache invalidated for user {}", userId);
+        } catch (IOException e) {
+            log.warn("Could not invalidate export cache for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeEntriesChanged(TimeEntriesChangedEvent event) {
+        invalidate(event.userId(), event.dates());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        invalidateAll(event.userId());
+    }
+
+    // Private helper methods
+
+    private AtomicLong generation(Long userId) {
+        return generations.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private Path userDirectory(Long userId) {
+        return directory.resolve(String.valueOf(userId));
+    }
+
+    // File names end in _<start>_<end>.<extension>
+    private static boolean covers(String fileName, Iterable<LocalDate> dates) {
+        if (fileName.endsWith(TEMP_SUFFIX)) {
+            return false;
+        }
+        int extension = fileName.indexOf('.');
+        int endSeparator = fileName.lastIndexOf('_', extension);
+        int startSeparator = fileName.lastIndexOf('_', endSeparator - 1);
+        if (extension < 0 || startSeparator < 0) {
+            return false;
+        }
+
+        try {
+            LocalDate start = LocalDate.parse(fileName.substring(startSeparator + 1, endSeparator));
+            LocalDate end = LocalDate.parse(fileName.substring(endSeparator + 1, extension));
+            for (LocalDate date : dates) {
+                if (!date.isBefore(start) && !date.isAfter(end)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (RuntimeException e) {
+            return true; // not one of ours in the expected shape; drop it
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
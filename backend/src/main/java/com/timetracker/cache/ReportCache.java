@@ -0,0 +1,279 @@
+package com.timetracker.cache;
+
+import com.timetracker.event.TasksChangedEvent;
+import com.timetracker.event.TimeEntriesChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicted cache for computed reports, keyed by user, report type and date range.
+ * <p>
+ * Entries are invalidated after commit of any change to one of the dates they cover, and all of a
+ * user's entries when one of their tasks or categories is renamed. Hit, miss and eviction counts
+ * are published as the standard {@code cache.*} meters (tag {@code cache=reports}).
+ * With {@code serve-stale} enabled an expired entry keeps being returned until a single background
+ * refresh has recomputed it. Expired entries are dropped first when the cache is full, before the
+ * least recently used live ones.
+ */
+@Component
+@Slf4j
+public class ReportCache {
+
+    private static final String CACHE_NAME = "reports";
+
+    /**
+     * Identifies one cached report
+     */
+    public record Key(Long userId, String report, LocalDate startDate, LocalDate endDate) {
+
+        boolean covers(Long changedUserId, LocalDate date) {
+            return userId.equals(changedUserId) && !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long loadedAt;
+        private boolean refreshing;
+
+        private Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final boolean serveStale;
+
+    // Access-ordered, so iteration starts at the least recently used entry; guarded by "this"
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Per user, bumped on every invalidation of that user's reports; a load that started before an
+    // invalidation of its user is not stored
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiryEvictions;
+    private final Counter invalidationEvictions;
+
+    public ReportCache(MeterRegistry meterRegistry,
+                       @Value("${app.reports.cache.enabled:true}") boolean enabled,
+                       @Value("${app.reports.cache.max-size:1000}") int maxSize,
+                       @Value("${app.reports.cache.ttl:10m}") Duration ttl,
+                       @Value("${app.reports.cache.serve-stale:false}") boolean serveStale) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.serveStale = serveStale;
+
+        this.refreshExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxSize), runnable -> {
+                    Thread thread = new Thread(runnable, "report-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Report cache hits").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Report cache misses").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "size")
+                .description("Report cache evictions").register(meterRegistry);
+        this.expiryEvictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "expired")
+                .description("Report cache evictions").register(meterRegistry);
+        this.invalidationEvictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "invalidated")
+                .description("Report cache evictions").register(meterRegistry);
+        Gauge.builder("cache.size", this, ReportCache::size).tag("cache", CACHE_NAME)
+                .description("Number of cached reports").register(meterRegistry);
+    }
+
+    /**
+     * Return the cached report for the key, computing (and caching) it with the loader on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return (T) entry.value;
+                }
+                if (serveStale) {
+                    hits.increment();
+                    if (!entry.refreshing) {
+                        entry.refreshing = true;
+                        scheduleRefresh(key, entry, loader);
+                    }
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                expiryEvictions.increment();
+            }
+        }
+
+        misses.increment();
+        return load(key, loader);
+    }
+
+    /**
+     * Drop every cached report of the user whose range covers one of the dates
+     */
+    public void invalidate(Long userId, Iterable<LocalDate> dates) {
+        generation(userId).incrementAndGet();
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Key> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                Key key = iterator.next();
+                for (LocalDate date : dates) {
+                    if (key.covers(userId, date)) {
+                        iterator.remove();
+                        removed++;
+                        break;
+                    }
+                }
+            }
+        }
+        if (removed > 0) {
+            invalidationEvictions.increment(removed);
+            log.debug("Invalidated {} cached reports for user {} (dates: {})", removed, userId, dates);
+        }
+    }
+
+    /**
+     * Drop every cached report of the user
+     */
+    public void invalidateAll(Long userId) {
+        generation(userId).incrementAndGet();
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Key> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().userId().equals(userId)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            invalidationEvictions.increment(removed);
+            log.debug("Invalidated all {} cached reports for user {}", removed, userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeEntriesChanged(TimeEntriesChangedEvent event) {
+        invalidate(event.userId(), event.dates());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        invalidateAll(event.userId());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // Private helper methods
+
+    private AtomicLong generation(Long userId) {
+        return generations.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private <T> T load(Key key, Supplier<T> loader) {
+        long generation = generation(key.userId()).get();
+        T value = loader.get();
+        store(key, value, generation);
+        return value;
+    }
+
+    private void scheduleRefresh(Key key, Entry stale, Supplier<?> loader) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of {} report for user {} failed: {}",
+                            key.report(), key.userId(), e.getMessage());
+                    synchronized (this) {
+                        stale.refreshing = false;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing = false;
+        }
+    }
+
+    private void store(Key key, Object value, long generation) {
+        synchronized (this) {
+            if (generation(key.userId()).get() != generation) {
+                // Data changed while loading, the value may already be outdated; let the next read retry
+                Entry current = entries.get(key);
+                if (current != null) {
+                    current.refreshing = false;
+                }
+                return;
+            }
+            long now = System.nanoTime();
+            entries.put(key, new Entry(value, now));
+            if (entries.size() > maxSize) {
+                removeExpired(now);
+            }
+            while (entries.size() > maxSize) {
+                Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    // Guarded by "this"; an expired entry being refreshed goes too, the refresh stores a new one
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().loadedAt >= ttlNanos) {
+                iterator.remove();
+                expiryEvictions.increment();
+            }
+        }
+    }
+}
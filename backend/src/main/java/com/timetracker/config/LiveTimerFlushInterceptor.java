@@ -0,0 +1,31 @@
+package com.timetracker.config;
+
+import com.timetracker.service.LiveTimerService;
+import com.timetracker.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Writes the user's running timer before reports and exports, which read stored entries and rollups
+ * and would otherwise miss its pending end time. Time entry reads show the pending value without
+ * writing it (see {@link com.timetracker.service.TimeEntryService}). Costs nothing while no timer is
+ * running.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveTimerFlushInterceptor implements HandlerInterceptor {
+
+    private final LiveTimerService liveTimerService;
+    private final UserService userService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (liveTimerService.hasTimers()) {
+            liveTimerService.flush(userService.getCurrentUser().getId());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.timetracker.config;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a {@link StreamingResponseBody} returned inside a {@code ResponseEntity<?>}.
+ * <p>
+ * Spring MVC only streams bodies asynchronously when the handler declares
+ * {@code ResponseEntity<StreamingResponseBody>}; a handler that returns either a file or a stream
+ * (the month export) has to declare {@code ResponseEntity<?>}, and its stream is then written here,
+ * on the request thread.
+ */
+public class StreamingResponseBodyMessageConverter implements HttpMessageConverter<StreamingResponseBody> {
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return StreamingResponseBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return List.of(MediaType.ALL);
+    }
+
+    @Override
+    public StreamingResponseBody read(Class<? extends StreamingResponseBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Streaming response bodies cannot be read", inputMessage);
+    }
+
+    @Override
+    public void write(StreamingResponseBody body, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        if (contentType != null && outputMessage.getHeaders().getContentType() == null) {
+            outputMessage.getHeaders().setContentType(contentType);
+        }
+        body.writeTo(outputMessage.getBody());
+    }
+}
@@ -1,5 +1,6 @@
 package com.timetracker.controller;
 
+import com.timetracker.service.ExportCompression;
 import com.timetracker.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -7,8 +8,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -19,62 +22,90 @@ import java.time.LocalDate;
 @Tag(name = "Export", description = "Data export operations")
 public class ExportController {
 
+    private static final String COMPRESSION_DESCRIPTION =
+            "Download as a compressed file: gzip, zstd or none (default: negotiated from Accept-Encoding)";
+
     private final ExportService exportService;
 
     @GetMapping("/time-entries/csv")
     @Operation(summary = "Export time entries to CSV", description = "Export time entries for a date range to CSV format")
-    public ResponseEntity<byte[]> exportTimeEntriesToCsv(
+    public ResponseEntity<StreamingResponseBody> exportTimeEntriesToCsv(
+            @Parameter(description = "Start date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = COMPRESSION_DESCRIPTION) @RequestParam(required = false) String compression,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exportService.exportTimeEntriesToCsv(startDate, endDate,
+                ExportCompression.resolve(compression, acceptEncoding));
+    }
+
+    @GetMapping("/time-entries/parquet")
+    @Operation(summary = "Export time entries to Parquet", description = "Export time entries for a date range as a Parquet file with typed columns")
+    public ResponseEntity<StreamingResponseBody> exportTimeEntriesToParquet(
             @Parameter(description = "Start date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return exportService.exportTimeEntriesToCsv(startDate, endDate);
+        return exportService.exportTimeEntriesToParquet(startDate, endDate);
     }
 
     @GetMapping("/daily-summary/csv")
     @Operation(summary = "Export daily summary to CSV", description = "Export daily summaries for a date range to CSV format")
-    public ResponseEntity<byte[]> exportDailySummaryToCsv(
+    public ResponseEntity<StreamingResponseBody> exportDailySummaryToCsv(
             @Parameter(description = "Start date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return exportService.exportDailySummaryToCsv(startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = COMPRESSION_DESCRIPTION) @RequestParam(required = false) String compression,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exportService.exportDailySummaryToCsv(startDate, endDate,
+                ExportCompression.resolve(compression, acceptEncoding));
     }
 
     @GetMapping("/task-summary/csv")
     @Operation(summary = "Export task summary to CSV", description = "Export task summaries for a date range to CSV format")
-    public ResponseEntity<byte[]> exportTaskSummaryToCsv(
+    public ResponseEntity<StreamingResponseBody> exportTaskSummaryToCsv(
             @Parameter(description = "Start date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return exportService.exportTaskSummaryToCsv(startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = COMPRESSION_DESCRIPTION) @RequestParam(required = false) String compression,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exportService.exportTaskSummaryToCsv(startDate, endDate,
+                ExportCompression.resolve(compression, acceptEncoding));
     }
 
     @GetMapping("/current-week/csv")
     @Operation(summary = "Export current week to CSV", description = "Export current week's time entries to CSV")
-    public ResponseEntity<byte[]> exportCurrentWeekToCsv() {
+    public ResponseEntity<StreamingResponseBody> exportCurrentWeekToCsv(
+            @Parameter(description = COMPRESSION_DESCRIPTION) @RequestParam(required = false) String compression,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         LocalDate today = LocalDate.now();
         LocalDate weekStart = today.with(java.time.DayOfWeek.MONDAY);
         LocalDate weekEnd = weekStart.plusDays(6);
-        return exportService.exportTimeEntriesToCsv(weekStart, weekEnd);
+        return exportService.exportTimeEntriesToCsv(weekStart, weekEnd,
+                ExportCompression.resolve(compression, acceptEncoding));
     }
 
     @GetMapping("/last-30-days/csv")
     @Operation(summary = "Export last 30 days to CSV", description = "Export last 30 days' time entries to CSV")
-    public ResponseEntity<byte[]> exportLast30DaysToCsv() {
+    public ResponseEntity<StreamingResponseBody> exportLast30DaysToCsv(
+            @Parameter(description = COMPRESSION_DESCRIPTION) @RequestParam(required = false) String compression,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(29);
-        return exportService.exportTimeEntriesToCsv(startDate, endDate);
+        return exportService.exportTimeEntriesToCsv(startDate, endDate,
+                ExportCompression.resolve(compression, acceptEncoding));
     }
 
     @GetMapping("/month/{year}/{month}/csv")
-    @Operation(summary = "Export specific month to CSV", description = "Export a specific month's time entries to CSV")
-    public ResponseEntity<byte[]> exportMonthToCsv(
+    @Operation(summary = "Export specific month to CSV", description = "Export a specific month's time entries to CSV; past months are served from a disk cache and support Range requests (compressed only as an explicit compressed file download)")
+    public ResponseEntity<?> exportMonthToCsv(
             @Parameter(description = "Year (e.g., 2024)") @PathVariable int year,
-            @Parameter(description = "Month (1-12)") @PathVariable int month) {
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        return exportService.exportTimeEntriesToCsv(startDate, endDate);
+            @Parameter(description = "Month (1-12)") @PathVariable int month,
+            @Parameter(description = COMPRESSION_DESCRIPTION) @RequestParam(required = false) String compression,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exportService.exportMonthToCsv(year, month, ExportCompression.resolve(compression, acceptEncoding));
     }
-}
\ No newline at end of file
+}
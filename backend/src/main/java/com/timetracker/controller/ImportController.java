@@ -0,0 +1,56 @@
+package com.timetracker.controller;
+
+import com.timetracker.dto.request.CsvImportMapping;
+import com.timetracker.dto.response.ApiResponse;
+import com.timetracker.dto.response.ImportResponse;
+import com.timetracker.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Import", description = "Data import operations")
+public class ImportController {
+
+    private static final String CSV_DESCRIPTION = "Import time entries from a CSV file, read as a stream. " +
+            "By default the columns of the time entry CSV export are expected; the query parameters map other " +
+            "layouts. Missing categories and tasks are created. Rows that cannot be imported are reported by line.";
+
+    private final ImportService importService;
+
+    @PostMapping(value = "/time-entries/csv", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Import time entries from CSV", description = CSV_DESCRIPTION)
+    public ResponseEntity<ApiResponse<ImportResponse>> importTimeEntriesFromCsv(
+            @ParameterObject CsvImportMapping mapping,
+            InputStream body) throws IOException {
+        return imported(importService.importTimeEntriesFromCsv(body, mapping));
+    }
+
+    @PostMapping(value = "/time-entries/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import time entries from an uploaded CSV file", description = CSV_DESCRIPTION)
+    public ResponseEntity<ApiResponse<ImportResponse>> importTimeEntriesFromCsvFile(
+            @ParameterObject CsvImportMapping mapping,
+            @RequestPart("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return imported(importService.importTimeEntriesFromCsv(input, mapping));
+        }
+    }
+
+    private static ResponseEntity<ApiResponse<ImportResponse>> imported(ImportResponse response) {
+        return ResponseEntity.ok(ApiResponse.success(String.format("Imported %d of %d rows",
+                response.getImportedCount(), response.getTotalRows()), response));
+    }
+}
@@ -1,8 +1,14 @@
 package com.timetracker.controller;
 
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.timetracker.dto.response.ApiResponse;
 import com.timetracker.dto.response.DailySummaryResponse;
+import com.timetracker.dto.response.HeatmapResponse;
+import com.timetracker.dto.response.ReportJobResponse;
 import com.timetracker.dto.response.WeeklySummaryResponse;
+import com.timetracker.service.CachingReportService;
+import com.timetracker.service.ReportJobService;
 import com.timetracker.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,9 +16,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.Map;
 
@@ -24,13 +33,16 @@ import java.util.Map;
 public class ReportController {
 
     private final ReportService reportService;
+    private final CachingReportService cachingReportService;
+    private final ReportJobService reportJobService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/daily/{date}")
     @Operation(summary = "Get daily summary", description = "Get comprehensive daily time tracking summary")
     public ResponseEntity<ApiResponse<DailySummaryResponse>> getDailySummary(
             @Parameter(description = "Date (YYYY-MM-DD)")
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        DailySummaryResponse summary = reportService.getDailySummary(date);
+        DailySummaryResponse summary = cachingReportService.getDailySummary(date);
         return ResponseEntity.ok(ApiResponse.success(summary));
     }
 
@@ -39,7 +51,7 @@ public class ReportController {
     public ResponseEntity<ApiResponse<WeeklySummaryResponse>> getWeeklySummary(
             @Parameter(description = "Any date within the target week (YYYY-MM-DD)")
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        WeeklySummaryResponse summary = reportService.getWeeklySummary(date);
+        WeeklySummaryResponse summary = cachingReportService.getWeeklySummary(date);
         return ResponseEntity.ok(ApiResponse.success(summary));
     }
 
@@ -50,57 +62,71 @@ public class ReportController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        Map<String, Object> statistics = reportService.getStatistics(startDate, endDate);
+        Map<String, Object> statistics = cachingReportService.getStatistics(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(statistics));
     }
 
     @GetMapping("/enhanced-statistics")
-    @Operation(summary = "Get enhanced statistics", description = "Get enhanced statistics with category and task breakdowns for a date range")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getEnhancedStatistics(
+    @Operation(summary = "Get enhanced statistics", description = "Get enhanced statistics with category and task breakdowns for a date range; long ranges are queued as a report job (202)")
+    public ResponseEntity<ApiResponse<?>> getEnhancedStatistics(
             @Parameter(description = "Start date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        Map<String, Object> statistics = reportService.getEnhancedStatistics(startDate, endDate);
+        if (reportJobService.shouldRunAsync(startDate, endDate)) {
+            return accepted(reportJobService.submit(ReportJobService.ReportType.ENHANCED_STATISTICS, startDate, endDate));
+        }
+        Map<String, Object> statistics = cachingReportService.getEnhancedStatistics(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(statistics));
     }
 
     @GetMapping("/productivity-insights")
-    @Operation(summary = "Get productivity insights", description = "Get productivity analysis and insights for a date range")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getProductivityInsights(
+    @Operation(summary = "Get productivity insights", description = "Get productivity analysis and insights for a date range; long ranges are queued as a report job (202)")
+    public ResponseEntity<ApiResponse<?>> getProductivityInsights(
             @Parameter(description = "Start date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        Map<String, Object> insights = reportService.getProductivityInsights(startDate, endDate);
+        if (reportJobService.shouldRunAsync(startDate, endDate)) {
+            return accepted(reportJobService.submit(ReportJobService.ReportType.PRODUCTIVITY_INSIGHTS, startDate, endDate));
+        }
+        Map<String, Object> insights = cachingReportService.getProductivityInsights(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(insights));
     }
 
     @GetMapping("/daily-range")
     @Operation(summary = "Get daily summaries for range", description = "Get daily summaries for each day in a date range")
-    public ResponseEntity<ApiResponse<Map<String, DailySummaryResponse>>> getDailySummariesForRange(
+    public ResponseEntity<StreamingResponseBody> getDailySummariesForRange(
             @Parameter(description = "Start date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        ApiResponse<JsonSerializable> response =
+                ApiResponse.success(reportService.getDailySummariesForRange(startDate, endDate));
 
-        Map<String, DailySummaryResponse> summaries = new java.util.LinkedHashMap<>();
-        LocalDate currentDate = startDate;
+        // The usual ApiResponse envelope, written by the same ObjectMapper; each day is serialized as it is built
+        StreamingResponseBody body = outputStream -> objectMapper.writeValue(outputStream, response);
 
-        while (!currentDate.isAfter(endDate)) {
-            DailySummaryResponse dailySummary = reportService.getDailySummary(currentDate);
-            summaries.put(currentDate.toString(), dailySummary);
-            currentDate = currentDate.plusDays(1);
-        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 
-        return ResponseEntity.ok(ApiResponse.success(summaries));
+    @GetMapping("/heatmap/{year}")
+    @Operation(summary = "Get yearly heatmap", description = "Get minutes tracked per day for a calendar year, optionally for one category")
+    public ResponseEntity<ApiResponse<HeatmapResponse>> getHeatmap(
+            @Parameter(description = "Calendar year (YYYY)") @PathVariable int year,
+            @Parameter(description = "Only count time tracked in this category")
+            @RequestParam(required = false) Long categoryId) {
+        HeatmapResponse heatmap = cachingReportService.getHeatmap(year, categoryId);
+        return ResponseEntity.ok(ApiResponse.success(heatmap));
     }
 
     @GetMapping("/current-week")
     @Operation(summary = "Get current week summary", description = "Get summary for the current week")
     public ResponseEntity<ApiResponse<WeeklySummaryResponse>> getCurrentWeekSummary() {
         LocalDate today = LocalDate.now();
-        WeeklySummaryResponse summary = reportService.getWeeklySummary(today);
+        WeeklySummaryResponse summary = cachingReportService.getWeeklySummary(today);
         return ResponseEntity.ok(ApiResponse.success(summary));
     }
 
@@ -109,7 +135,7 @@ public class ReportController {
     public ResponseEntity<ApiResponse<Map<String, Object>>> getLast7DaysStatistics() {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(6); // Last 7 days including today
-        Map<String, Object> statistics = reportService.getStatistics(startDate, endDate);
+        Map<String, Object> statistics = cachingReportService.getStatistics(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(statistics));
     }
 
@@ -118,8 +144,13 @@ public class ReportController {
     public ResponseEntity<ApiResponse<Map<String, Object>>> getLast30DaysStatistics() {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(29); // Last 30 days including today
-        Map<String, Object> statistics = reportService.getStatistics(startDate, endDate);
+        Map<String, Object> statistics = cachingReportService.getStatistics(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(statistics));
     }
 
-}
\ No newline at end of file
+    private ResponseEntity<ApiResponse<?>> accepted(ReportJobResponse job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.getId()))
+                .body(ApiResponse.success("Long-range report queued as a background job", job));
+    }
+}
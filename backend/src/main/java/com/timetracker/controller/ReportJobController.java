@@ -0,0 +1,62 @@
+package com.timetracker.controller;
+
+import com.timetracker.dto.request.ReportJobRequest;
+import com.timetracker.dto.response.ApiResponse;
+import com.timetracker.dto.response.ReportJobResponse;
+import com.timetracker.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report Jobs", description = "Background generation of long-range reports")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    @Operation(summary = "Submit report job", description = "Queue a report for background generation and return its job")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitJob(@Valid @RequestBody ReportJobRequest request) {
+        ReportJobResponse job = reportJobService.submit(request.getType(), request.getStartDate(), request.getEndDate());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.getId()))
+                .body(ApiResponse.success("Report job queued", job));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get report job", description = "Get the status of a report job")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(
+            @Parameter(description = "Job ID") @PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(reportJobService.getJob(jobId)));
+    }
+
+    @GetMapping("/{jobId}/result")
+    @Operation(summary = "Get report job result", description = "Get the report produced by a completed job")
+    public ResponseEntity<ApiResponse<?>> getJobResult(
+            @Parameter(description = "Job ID") @PathVariable String jobId) {
+        Map<String, Object> result = reportJobService.getResult(jobId);
+        if (result != null) {
+            return ResponseEntity.ok(ApiResponse.success(result));
+        }
+
+        ReportJobResponse job = reportJobService.getJob(jobId);
+        if (job.getStatus() == ReportJobService.JobStatus.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "Report job failed: " + job.getError(), job));
+        }
+        return ResponseEntity.accepted()
+                .body(ApiResponse.success("Report job has not completed yet", job));
+    }
+}
@@ -3,10 +3,13 @@ package com.timetracker.controller;
 import com.timetracker.dto.request.BulkTimeEntryRequest;
 import com.timetracker.dto.request.TimeEntryCreateRequest;
 import com.timetracker.dto.request.TimeEntryUpdateRequest;
+import com.timetracker.dto.request.TimesheetBulkRequest;
 import com.timetracker.dto.response.ApiResponse;
 import com.timetracker.dto.response.BulkOperationResponse;
 import com.timetracker.dto.response.TimeEntryResponse;
 import com.timetracker.dto.response.TimeEntryValidationResponse;
+import com.timetracker.service.IdempotencyService;
+import com.timetracker.service.LiveTimerService;
 import com.timetracker.service.TimeEntryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,8 +19,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -30,7 +35,12 @@ import java.util.List;
 @Tag(name = "Time Entries", description = "Time tracking operations")
 public class TimeEntryController {
 
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION = "Optional client-generated key; a retry with the " +
+            "same key returns the stored response (marked Idempotent-Replayed) instead of creating entries again";
+
     private final TimeEntryService timeEntryService;
+    private final IdempotencyService idempotencyService;
+    private final LiveTimerService liveTimerService;
 
     @GetMapping("/date/{date}")
     @Operation(summary = "Get time entries for date", description = "Retrieve all time entries for a specific date")
@@ -52,6 +62,21 @@ public class TimeEntryController {
         return ResponseEntity.ok(ApiResponse.success(timeEntries));
     }
 
+    @GetMapping(value = "/date-range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream time entries for date range",
+            description = "Stream time entries for a date range as NDJSON (one entry per line); "
+                    + "selected with Accept: application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTimeEntriesForDateRange(
+            @Parameter(description = "Start date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        StreamingResponseBody body = timeEntryService.streamTimeEntriesForDateRange(startDate, endDate);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get time entry by ID", description = "Retrieve a specific time entry by its ID")
     public ResponseEntity<ApiResponse<TimeEntryResponse>> getTimeEntryById(
@@ -62,11 +87,15 @@ public class TimeEntryController {
 
     @PostMapping
     @Operation(summary = "Create time entry", description = "Create a new time entry with validation")
-    public ResponseEntity<ApiResponse<TimeEntryResponse>> createTimeEntry(
+    public ResponseEntity<?> createTimeEntry(
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TimeEntryCreateRequest request) {
-        TimeEntryResponse timeEntry = timeEntryService.createTimeEntry(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Time entry created successfully", timeEntry));
+        return idempotencyService.execute(idempotencyKey, "createTimeEntry", request, () -> {
+            TimeEntryResponse timeEntry = timeEntryService.createTimeEntry(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Time entry created successfully", timeEntry));
+        });
     }
 
     @PutMapping("/{id}")
@@ -86,13 +115,55 @@ public class TimeEntryController {
         return ResponseEntity.ok(ApiResponse.success("Time entry deleted successfully"));
     }
 
+    @PostMapping("/{id}/heartbeat")
+    @Operation(summary = "Extend running time entry",
+            description = "Move the end of a running time entry; the value is kept in memory and written "
+                    + "periodically, on stop and before reports and exports")
+    public ResponseEntity<ApiResponse<String>> heartbeat(
+            @Parameter(description = "Time entry ID") @PathVariable Long id,
+            @Parameter(description = "New end time (HH:mm)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime) {
+        liveTimerService.heartbeat(id, endTime);
+        return ResponseEntity.accepted().body(ApiResponse.success("Heartbeat recorded"));
+    }
+
+    @PostMapping("/{id}/stop")
+    @Operation(summary = "Stop running time entry", description = "Write the running time entry's end time now")
+    public ResponseEntity<ApiResponse<TimeEntryResponse>> stop(
+            @Parameter(description = "Time entry ID") @PathVariable Long id,
+            @Parameter(description = "Final end time (HH:mm); defaults to the last heartbeat")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime) {
+        liveTimerService.stop(id, endTime);
+        TimeEntryResponse timeEntry = timeEntryService.getTimeEntryById(id);
+        return ResponseEntity.ok(ApiResponse.success("Time entry stopped", timeEntry));
+    }
+
     @PostMapping("/bulk")
     @Operation(summary = "Bulk create time entries", description = "Create multiple time entries for a specific date")
-    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkCreateTimeEntries(
+    public ResponseEntity<?> bulkCreateTimeEntries(
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody BulkTimeEntryRequest request) {
-        BulkOperationResponse result = timeEntryService.bulkCreateTimeEntries(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Bulk time entries processed", result));
+        return idempotencyService.execute(idempotencyKey, "bulkCreateTimeEntries", request, () -> {
+            BulkOperationResponse result = timeEntryService.bulkCreateTimeEntries(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Bulk time entries processed", result));
+        });
+    }
+
+    @PostMapping("/bulk/timesheet")
+    @Operation(summary = "Bulk create time entries for a date range",
+            description = "Create the time entries of several days (e.g. a timesheet week) in one transaction; "
+                    + "with replaceExisting every day of the range is replaced")
+    public ResponseEntity<?> bulkCreateTimesheet(
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody TimesheetBulkRequest request) {
+        return idempotencyService.execute(idempotencyKey, "bulkCreateTimesheet", request, () -> {
+            BulkOperationResponse result = timeEntryService.bulkCreateTimesheet(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Timesheet time entries processed", result));
+        });
     }
 
     @PostMapping("/validate")
@@ -0,0 +1,20 @@
+package com.timetracker.dto.mapper;
+
+import com.timetracker.dto.response.DailySummaryResponse;
+import com.timetracker.dto.response.HeatmapResponse;
+import com.timetracker.dto.response.WeeklySummaryResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.control.DeepClone;
+
+/**
+ * Deep copies of report responses, so a cached report can be handed out without sharing its state
+ */
+@Mapper(componentModel = "spring", mappingControl = DeepClone.class)
+public interface ReportResponseMapper {
+
+    DailySummaryResponse copy(DailySummaryResponse summary);
+
+    WeeklySummaryResponse copy(WeeklySummaryResponse summary);
+
+    HeatmapResponse copy(HeatmapResponse heatmap);
+}
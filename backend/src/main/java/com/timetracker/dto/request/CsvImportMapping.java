@@ -0,0 +1,37 @@
+package com.timetracker.dto.request;
+
+import lombok.Data;
+
+/**
+ * How the columns of an imported CSV map onto time entries, matched against the header row by name
+ * (case-insensitive). The defaults read the time entry CSV export; other tools' files can be read by
+ * naming their columns and formats.
+ */
+@Data
+public class CsvImportMapping {
+
+    private String dateColumn = "Date";
+
+    private String startTimeColumn = "Start Time";
+
+    private String endTimeColumn = "End Time";
+
+    private String taskColumn = "Task";
+
+    // Optional; rows without a category go to the default category
+    private String categoryColumn = "Category";
+
+    // Optional
+    private String descriptionColumn = "Description";
+
+    // Optional; yes/no, true/false, 1/0
+    private String billableColumn = "Billable";
+
+    // Single character, or "tab"
+    private String delimiter = ",";
+
+    // java.time patterns
+    private String dateFormat = "yyyy-MM-dd";
+
+    private String timeFormat = "H:mm[:ss]";
+}
@@ -0,0 +1,20 @@
+package com.timetracker.dto.request;
+
+import com.timetracker.service.ReportJobService;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportJobService.ReportType type;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+}
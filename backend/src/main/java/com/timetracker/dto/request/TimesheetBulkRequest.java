@@ -0,0 +1,30 @@
+package com.timetracker.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Time entries for a range of days (e.g. a week of the timesheet grid), submitted at once. Every
+ * entry carries its own date, which must fall within the range.
+ */
+@Data
+public class TimesheetBulkRequest {
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    // May be empty when replacing, to clear the range
+    @NotNull(message = "Time entries are required")
+    @Valid
+    private List<TimeEntryCreateRequest> timeEntries;
+
+    // Flag to indicate if we should replace all entries of every day in the range
+    private Boolean replaceExisting = false;
+}
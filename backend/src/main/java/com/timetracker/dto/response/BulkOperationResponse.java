@@ -14,4 +14,5 @@ public class BulkOperationResponse {
     private List<Long> createdIds;
     private List<Long> updatedIds;
     private List<Long> skippedIds;
+    private List<Long> deletedIds;
 }
\ No newline at end of file
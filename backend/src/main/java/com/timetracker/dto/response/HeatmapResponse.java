@@ -0,0 +1,18 @@
+package com.timetracker.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class HeatmapResponse {
+    private Integer year;
+    private Long categoryId;
+    private LocalDate startDate;
+    private Integer days;
+    // Minutes tracked per day; index 0 is January 1st
+    private int[] minutes;
+    private Integer totalMinutes;
+    private Integer daysTracked;
+    private Integer maxMinutes;
+}
@@ -0,0 +1,26 @@
+package com.timetracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class ImportResponse {
+    private Long totalRows;
+    private Long importedCount;
+    private Long failedCount;
+    private Integer createdCategories;
+    private Integer createdTasks;
+    private List<RowError> errors;
+    private Boolean errorsTruncated; // only the first errors are listed
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Long line;
+        private String message;
+    }
+}
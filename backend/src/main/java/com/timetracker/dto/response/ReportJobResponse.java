@@ -0,0 +1,24 @@
+package com.timetracker.dto.response;
+
+import com.timetracker.service.ReportJobService;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class ReportJobResponse {
+    private String id;
+    private ReportJobService.ReportType type;
+    private ReportJobService.JobStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private Instant expiresAt;
+    private String error;
+    private String resultUrl;
+}
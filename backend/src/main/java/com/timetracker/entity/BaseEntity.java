@@ -1,23 +1,35 @@
 package com.timetracker.entity;
 
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.proxy.HibernateProxy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
-@Data
+/**
+ * Base class for persistent entities.
+ * <p>
+ * Equality is based on entity type and id only, and {@code toString} only prints simple columns, so
+ * entities can be used as map keys or logged without touching lazy associations or collections.
+ * Unsaved entities are only equal to themselves.
+ */
+@Getter
+@Setter
+@ToString
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
-@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public abstract class BaseEntity {
 
+    // Ids come in blocks of 50 from one shared sequence (see V1_2_0), so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entity_id")
+    @SequenceGenerator(name = "entity_id", sequenceName = "entity_id_seq", allocationSize = 50)
     private Long id;
 
     @CreatedDate
@@ -27,4 +39,30 @@ public abstract class BaseEntity {
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BaseEntity other) || effectiveClass(this) != effectiveClass(other)) {
+            return false;
+        }
+        return getId() != null && Objects.equals(getId(), other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Id-based so large groupings stay well distributed; unsaved entities fall back to identity
+        // and must not be kept in hash-based collections across a save
+        Long id = getId();
+        return id != null ? id.hashCode() : System.identityHashCode(this);
+    }
+
+    // Resolves the entity class behind a Hibernate proxy without initializing it
+    private static Class<?> effectiveClass(Object entity) {
+        return entity instanceof HibernateProxy proxy
+                ? proxy.getHibernateLazyInitializer().getPersistentClass()
+                : entity.getClass();
+    }
+}
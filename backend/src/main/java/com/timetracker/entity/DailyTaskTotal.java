@@ -0,0 +1,50 @@
+package com.timetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Rollup of a user's time entries per date and task. Rows are written through
+ * {@link com.timetracker.repository.DailyTaskTotalRepository#applyDelta} only.
+ */
+@Entity
+@Table(name = "daily_task_totals",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "entry_date", "task_id"}))
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class DailyTaskTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    private User user;
+
+    @Column(name = "entry_date", nullable = false)
+    private LocalDate entryDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    @ToString.Exclude
+    private Task task;
+
+    @Column(name = "total_minutes", nullable = false)
+    private Integer totalMinutes;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+
+    @Column(name = "billable_minutes", nullable = false)
+    private Integer billableMinutes;
+}
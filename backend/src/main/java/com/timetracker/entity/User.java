@@ -4,16 +4,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
+@ToString(callSuper = true)
 public class User extends BaseEntity {
 
     @Email
@@ -30,6 +32,7 @@ public class User extends BaseEntity {
     private String name;
 
     @Column(name = "password_hash")
+    @ToString.Exclude
     private String passwordHash;
 
     @Column(name = "time_zone")
@@ -40,8 +43,10 @@ public class User extends BaseEntity {
 
     // Relationships
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
     private List<Category> categories = new ArrayList<>();
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
     private List<TimeEntry> timeEntries = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.timetracker.event;
+
+/**
+ * Published by {@link com.timetracker.service.TaskService} and
+ * {@link com.timetracker.service.CategoryService} when a task or category of a user changes in a way
+ * that shows in derived data (title, color, icon, or the category a task belongs to). Such a change
+ * affects every date, so derived data of the user is dropped as a whole.
+ */
+public record TasksChangedEvent(Long userId) {
+}
@@ -0,0 +1,17 @@
+package com.timetracker.event;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by {@link com.timetracker.service.TimeEntryService} whenever time entries of a user are
+ * created, updated or deleted. Carries every entry date touched by the change so derived data
+ * (cached reports, exports) can be invalidated precisely.
+ */
+public record TimeEntriesChangedEvent(Long userId, Set<LocalDate> dates) {
+
+    public static TimeEntriesChangedEvent of(Long userId, LocalDate... dates) {
+        return new TimeEntriesChangedEvent(userId, Set.copyOf(List.of(dates)));
+    }
+}
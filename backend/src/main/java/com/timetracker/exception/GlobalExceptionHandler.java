@@ -121,6 +121,35 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler(ReportJobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleReportJobRejected(ReportJobRejectedException ex, HttpServletRequest request) {
+        log.warn("Report job rejected: {} - URL: {}", ex.getMessage(), request.getRequestURL());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "30")
+                .body(ErrorResponse.builder()
+                        .error("REPORT_JOBS_BUSY")
+                        .message(ex.getMessage())
+                        .details(Map.of("queuedJobs", ex.getQueuedJobs()))
+                        .timestamp(Instant.now())
+                        .path(request.getRequestURI())
+                        .build());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex, HttpServletRequest request) {
+        log.warn("Idempotency key reused: {} - URL: {}", ex.getMessage(), request.getRequestURL());
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ErrorResponse.builder()
+                        .error("IDEMPOTENCY_KEY_REUSED")
+                        .message(ex.getMessage())
+                        .details(Map.of("idempotencyKey", ex.getIdempotencyKey()))
+                        .timestamp(Instant.now())
+                        .path(request.getRequestURI())
+                        .build());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
         log.warn("Illegal argument: {} - URL: {}", ex.getMessage(), request.getRequestURL());
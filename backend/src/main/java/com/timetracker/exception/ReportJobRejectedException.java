@@ -0,0 +1,19 @@
+package com.timetracker.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ReportJobRejectedException extends RuntimeException {
+
+    private final int queuedJobs;
+
+    public ReportJobRejectedException(int queuedJobs) {
+        super("Too many report jobs are waiting (" + queuedJobs + "), please retry later");
+        this.queuedJobs = queuedJobs;
+    }
+
+    public int getQueuedJobs() {
+        return queuedJobs;
+    }
+}
@@ -0,0 +1,98 @@
+package com.timetracker.repository;
+
+import com.timetracker.entity.DailyTaskTotal;
+import com.timetracker.entity.User;
+import com.timetracker.repository.projection.DailyMinutes;
+import com.timetracker.repository.projection.DailySummaryRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface DailyTaskTotalRepository extends JpaRepository<DailyTaskTotal, Long> {
+
+    // Forward-only cursor over a user's rollup rows; must be consumed (and closed) inside a transaction
+    @EntityGraph(attributePaths = {"task", "task.category"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM DailyTaskTotal d WHERE d.user = :user " +
+            "AND d.entryDate BETWEEN :startDate AND :endDate ORDER BY d.entryDate ASC")
+    Stream<DailyTaskTotal> streamByUserAndEntryDateBetween(@Param("user") User user,
+                                                            @Param("startDate") LocalDate startDate,
+                                                            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.timetracker.repository.projection.DailyMinutes(d.entryDate, SUM(d.totalMinutes)) " +
+            "FROM DailyTaskTotal d WHERE d.user = :user AND d.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY d.entryDate")
+    List<DailyMinutes> sumMinutesByDate(@Param("user") User user,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.timetracker.repository.projection.DailyMinutes(d.entryDate, SUM(d.totalMinutes)) " +
+            "FROM DailyTaskTotal d JOIN d.task t " +
+            "WHERE d.user = :user AND t.category.id = :categoryId AND d.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY d.entryDate")
+    List<DailyMinutes> sumMinutesByDateForCategory(@Param("user") User user,
+                                                   @Param("categoryId") Long categoryId,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    // Per-day totals, distinct categories and the day's top task (by title, via a window over per-task sums)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "WITH day_rows AS (" +
+            "    SELECT d.entry_date, d.total_minutes, d.entry_count, t.title AS task_title, c.title AS category_title " +
+            "    FROM daily_task_totals d " +
+            "    JOIN tasks t ON t.id = d.task_id " +
+            "    JOIN categories c ON c.id = t.category_id " +
+            "    WHERE d.user_id = :userId AND d.entry_date BETWEEN :startDate AND :endDate" +
+            "), task_ranks AS (" +
+            "    SELECT entry_date, task_title, " +
+            "           ROW_NUMBER() OVER (PARTITION BY entry_date ORDER BY SUM(total_minutes) DESC, task_title) AS task_rank " +
+            "    FROM day_rows GROUP BY entry_date, task_title" +
+            ") " +
+            "SELECT r.entry_date AS entryDate, SUM(r.total_minutes) AS totalMinutes, SUM(r.entry_count) AS entryCount, " +
+            "       COUNT(DISTINCT r.category_title) AS categoriesWorked, tr.task_title AS mostUsedTask " +
+            "FROM day_rows r " +
+            "JOIN task_ranks tr ON tr.entry_date = r.entry_date AND tr.task_rank = 1 " +
+            "GROUP BY r.entry_date, tr.task_title " +
+            "ORDER BY r.entry_date",
+            nativeQuery = true)
+    Stream<DailySummaryRow> streamDailySummaries(@Param("userId") Long userId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    // Add (or subtract, with negative values) a contribution to a single user/date/task cell
+    @Modifying
+    @Query(value = "INSERT INTO daily_task_totals (user_id, entry_date, task_id, total_minutes, entry_count, billable_minutes) " +
+            "VALUES (:userId, :entryDate, :taskId, :minutes, :entryCount, :billableMinutes) " +
+            "ON CONFLICT (user_id, entry_date, task_id) DO UPDATE SET " +
+            "total_minutes = daily_task_totals.total_minutes + EXCLUDED.total_minutes, " +
+            "entry_count = daily_task_totals.entry_count + EXCLUDED.entry_count, " +
+            "billable_minutes = daily_task_totals.billable_minutes + EXCLUDED.billable_minutes",
+            nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId,
+                    @Param("entryDate") LocalDate entryDate,
+                    @Param("taskId") Long taskId,
+                    @Param("minutes") int minutes,
+                    @Param("entryCount") int entryCount,
+                    @Param("billableMinutes") int billableMinutes);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_task_totals WHERE user_id = :userId AND entry_date = :entryDate " +
+            "AND task_id = :taskId AND entry_count <= 0", nativeQuery = true)
+    void deleteIfEmpty(@Param("userId") Long userId,
+                       @Param("entryDate") LocalDate entryDate,
+                       @Param("taskId") Long taskId);
+}
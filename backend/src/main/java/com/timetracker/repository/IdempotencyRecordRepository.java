@@ -0,0 +1,43 @@
+package com.timetracker.repository;
+
+import com.timetracker.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    // Insert the key, or take over an expired row; returns 0 when the key is held by a live record.
+    // A concurrent claim of the same key blocks on the primary key until the other transaction ends.
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, created_at) " +
+            "VALUES (:userId, :idempotencyKey, :requestHash, :now) " +
+            "ON CONFLICT (user_id, idempotency_key) DO UPDATE SET " +
+            "request_hash = EXCLUDED.request_hash, created_at = EXCLUDED.created_at, " +
+            "status_code = NULL, response_body = NULL " +
+            "WHERE idempotency_keys.created_at < :expiredBefore",
+            nativeQuery = true)
+    int claim(@Param("userId") Long userId,
+              @Param("idempotencyKey") String idempotencyKey,
+              @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now,
+              @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET status_code = :statusCode, response_body = :responseBody " +
+            "WHERE user_id = :userId AND idempotency_key = :idempotencyKey",
+            nativeQuery = true)
+    void complete(@Param("userId") Long userId,
+                  @Param("idempotencyKey") String idempotencyKey,
+                  @Param("statusCode") int statusCode,
+                  @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE created_at < :expiredBefore", nativeQuery = true)
+    int deleteExpired(@Param("expiredBefore") LocalDateTime expiredBefore);
+}
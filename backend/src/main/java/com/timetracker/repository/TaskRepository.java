@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,10 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t JOIN t.category c WHERE c.user = :user ORDER BY c.title ASC, t.sortOrder ASC, t.title ASC")
     List<Task> findAllByUser(@Param("user") User user);
 
+    // Several tasks by id in one query, restricted to the user's own (category fetched for ownership)
+    @Query("SELECT t FROM Task t JOIN FETCH t.category c WHERE t.id IN :ids AND c.user = :user")
+    List<Task> findAllByIdInAndUser(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
     boolean existsByCategoryAndTitle(Category category, String title);
 
     boolean existsByCategoryAndColor(Category category, String color);
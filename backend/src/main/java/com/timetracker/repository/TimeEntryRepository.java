@@ -4,23 +4,61 @@ import com.timetracker.entity.Category;
 import com.timetracker.entity.Task;
 import com.timetracker.entity.TimeEntry;
 import com.timetracker.entity.User;
+import com.timetracker.repository.projection.TaskTimeTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
 
     List<TimeEntry> findByUserAndEntryDateOrderByStartTimeAsc(User user, LocalDate entryDate);
 
+    // Same day query with tasks fetched, for validating a batch of new entries in memory
+    @EntityGraph(attributePaths = "task")
+    List<TimeEntry> findWithTaskByUserAndEntryDateOrderByStartTimeAsc(User user, LocalDate entryDate);
+
+    // The entry following a given start time on a day, bounding how far a running entry may extend
+    Optional<TimeEntry> findFirstByUserAndEntryDateAndStartTimeGreaterThanOrderByStartTimeAsc(
+            User user, LocalDate entryDate, LocalTime startTime);
+
+    // Same with several days at once, for multi-day bulk requests
+    @EntityGraph(attributePaths = "task")
+    List<TimeEntry> findWithTaskByUserAndEntryDateInOrderByEntryDateAscStartTimeAsc(
+            User user, Collection<LocalDate> entryDates);
+
     List<TimeEntry> findByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
             User user, LocalDate startDate, LocalDate endDate);
 
+    // Same range query with task and category fetched up front, for report generation
+    @EntityGraph(attributePaths = {"task", "task.category"})
+    List<TimeEntry> findWithTaskByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
+            User user, LocalDate startDate, LocalDate endDate);
+
+    // Forward-only cursor over the same range, for exports; must be consumed (and closed) inside a transaction
+    @EntityGraph(attributePaths = {"task", "task.category"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT te FROM TimeEntry te WHERE te.user = :user " +
+            "AND te.entryDate BETWEEN :startDate AND :endDate ORDER BY te.entryDate ASC, te.startTime ASC")
+    Stream<TimeEntry> streamByUserAndEntryDateBetween(@Param("user") User user,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+
     List<TimeEntry> findByTaskOrderByEntryDateDescStartTimeDesc(Task task);
 
     @Query("SELECT te FROM TimeEntry te WHERE te.user = :user AND te.entryDate = :date " +
@@ -52,4 +90,17 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
     // Get time entries by category (through tasks)
     @Query("SELECT te FROM TimeEntry te WHERE te.task.category = :category ORDER BY te.entryDate DESC, te.startTime DESC")
     List<TimeEntry> findByTask_Category(@Param("category") Category category);
-}
\ No newline at end of file
+
+    // Aggregate projection for the task summary export (no entity hydration)
+
+    @Query("SELECT new com.timetracker.repository.projection.TaskTimeTotals(" +
+            "t.id, t.title, t.color, t.icon, c.id, c.title, " +
+            "SUM(te.durationMinutes), COUNT(te), MAX(te.durationMinutes), AVG(te.durationMinutes)) " +
+            "FROM TimeEntry te JOIN te.task t JOIN t.category c " +
+            "WHERE te.user = :user AND te.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.id, t.title, t.color, t.icon, c.id, c.title " +
+            "ORDER BY SUM(te.durationMinutes) DESC")
+    List<TaskTimeTotals> sumByTask(@Param("user") User user,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,11 @@
+package com.timetracker.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Tracked minutes for a single date, summed from the daily rollup
+ */
+public record DailyMinutes(
+        LocalDate entryDate,
+        Long minutes) {
+}
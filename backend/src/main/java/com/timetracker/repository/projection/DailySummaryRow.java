@@ -0,0 +1,20 @@
+package com.timetracker.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * One day of the daily summary export, aggregated in SQL
+ */
+public interface DailySummaryRow {
+
+    LocalDate getEntryDate();
+
+    Long getTotalMinutes();
+
+    Long getEntryCount();
+
+    Long getCategoriesWorked();
+
+    // Title of the task with the most minutes that day (alphabetically first on ties)
+    String getMostUsedTask();
+}
@@ -0,0 +1,17 @@
+package com.timetracker.repository.projection;
+
+/**
+ * Aggregated time entry figures for a single task, computed in SQL
+ */
+public record TaskTimeTotals(
+        Long taskId,
+        String taskTitle,
+        String taskColor,
+        String taskIcon,
+        Long categoryId,
+        String categoryTitle,
+        Long totalMinutes,
+        Long entryCount,
+        Integer longestMinutes,
+        Double averageMinutes) {
+}
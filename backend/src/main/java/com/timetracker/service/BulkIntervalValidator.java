@@ -0,0 +1,234 @@
+package com.timetracker.service;
+
+import com.timetracker.dto.request.TimeEntryCreateRequest;
+import com.timetracker.dto.response.TimeEntryValidationResponse;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import com.timetracker.repository.TimeEntryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Time entry rules, applied to a single entry or to a whole day of new entries at once.
+ * <p>
+ * For a day, the existing entries are loaded once and sorted together with the new ones, and one
+ * sweep over start times finds every overlap, existing against new and new against new. The new
+ * entries are then decided in request order, as if saved one by one: each conflicts with the
+ * existing entries it overlaps and with the earlier new entries that were accepted, and its daily
+ * total includes those accepted entries.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BulkIntervalValidator {
+
+    private static final int MINIMUM_MINUTES = 15;
+
+    private final TimeEntryRepository timeEntryRepository;
+    private final int parallelThresholdDays;
+
+    public BulkIntervalValidator(TimeEntryRepository timeEntryRepository,
+                                 @Value("${app.timesheet.parallel-threshold-days:7}") int parallelThresholdDays) {
+        this.timeEntryRepository = timeEntryRepository;
+        this.parallelThresholdDays = parallelThresholdDays;
+    }
+
+    // An entry in the sweep: an existing entry (index -1) or the new entry at index
+    private record Interval(LocalTime start, LocalTime end, int index, TimeEntry existing) {
+    }
+
+    /**
+     * Validate new entries for one day, returning one response per entry in the same order.
+     * Entries that pass but are rejected by {@code saveable} (e.g. for an unknown task) do not
+     * count towards later entries.
+     */
+    public List<TimeEntryValidationResponse> validateDay(User user, LocalDate date, List<TimeEntryCreateRequest> entries,
+                                                         Predicate<TimeEntryCreateRequest> saveable) {
+        List<TimeEntry> existingEntries = timeEntryRepository.findWithTaskByUserAndEntryDateOrderByStartTimeAsc(user, date);
+        return validateDay(date, existingEntries, entries, saveable);
+    }
+
+    /**
+     * Validate new entries for several days against already loaded existing entries (with tasks
+     * fetched), returning each day's responses in entry order. Days are independent, so payloads
+     * spanning at least {@code app.timesheet.parallel-threshold-days} days are validated in parallel;
+     * {@code saveable} must be safe to call from several threads.
+     */
+    public Map<LocalDate, List<TimeEntryValidationResponse>> validateDays(
+            Map<LocalDate, List<TimeEntryCreateRequest>> entriesByDay,
+            Map<LocalDate, List<TimeEntry>> existingByDay,
+            Predicate<TimeEntryCreateRequest> saveable) {
+        Stream<Map.Entry<LocalDate, List<TimeEntryCreateRequest>>> days = entriesByDay.entrySet().stream();
+        if (parallelThresholdDays > 0 && entriesByDay.size() >= Math.max(parallelThresholdDays, 2)) {
+            days = days.parallel();
+        }
+        return days.collect(Collectors.toMap(Map.Entry::getKey, day -> validateDay(day.getKey(),
+                existingByDay.getOrDefault(day.getKey(), List.of()), day.getValue(), saveable)));
+    }
+
+    /**
+     * Apply the time entry rules given what the entry conflicts with and the day's total without it
+     */
+    public TimeEntryValidationResponse check(LocalDate entryDate, LocalTime startTime, LocalTime endTime,
+                                             List<TimeEntryValidationResponse.ConflictingEntry> conflicts,
+                                             int currentDailyMinutes) {
+        TimeEntryValidationResponse response = new TimeEntryValidationResponse();
+        response.setValid(true);
+        response.setWarnings(new ArrayList<>());
+        response.setErrors(new ArrayList<>());
+        response.setConflicts(new ArrayList<>());
+        response.setDate(entryDate);
+
+        // Validate time range
+        if (!startTime.isBefore(endTime)) {
+            response.getErrors().add("Start time must be before end time");
+            response.setValid(false);
+        }
+
+        // Calculate duration and validate minimum
+        int durationMinutes = minutesBetween(startTime, endTime);
+        if (durationMinutes < MINIMUM_MINUTES) {
+            response.getErrors().add("Minimum time entry duration is 15 minutes");
+            response.setValid(false);
+        }
+
+        // Check for overlaps
+        if (!conflicts.isEmpty()) {
+            response.setValid(false);
+            response.getConflicts().addAll(conflicts);
+            response.getErrors().add("Time entry overlaps with existing entries");
+        }
+
+        // Business rule validations
+        int newDailyTotal = currentDailyMinutes + durationMinutes;
+
+        // Warning for long days
+        if (newDailyTotal > 16 * 60) { // More than 16 hours
+            response.getWarnings().add("Daily total exceeds 16 hours");
+        }
+
+        // Warning for very long single entry
+        if (durationMinutes > 12 * 60) { // More than 12 hours
+            response.getWarnings().add("Single time entry exceeds 12 hours");
+        }
+
+        // Error for impossible day
+        if (newDailyTotal > 24 * 60) { // More than 24 hours
+            response.getErrors().add("Daily total cannot exceed 24 hours");
+            response.setValid(false);
+        }
+
+        return response;
+    }
+
+    /**
+     * Overlap conflict with a saved entry
+     */
+    public TimeEntryValidationResponse.ConflictingEntry conflictWith(TimeEntry entry) {
+        return conflict(entry.getId(), entry.getTask().getTitle(), entry.getStartTime(), entry.getEndTime());
+    }
+
+    // Private helper methods
+
+    private List<TimeEntryValidationResponse> validateDay(LocalDate date, List<TimeEntry> existingEntries,
+                                                          List<TimeEntryCreateRequest> entries,
+                                                          Predicate<TimeEntryCreateRequest> saveable) {
+        int dailyMinutes = existingEntries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
+
+        List<List<TimeEntry>> existingOverlaps = new ArrayList<>(entries.size());
+        List<List<Integer>> newOverlaps = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            existingOverlaps.add(new ArrayList<>());
+            newOverlaps.add(new ArrayList<>());
+        }
+        sweep(existingEntries, entries, existingOverlaps, newOverlaps);
+
+        List<TimeEntryValidationResponse> responses = new ArrayList<>(entries.size());
+        boolean[] accepted = new boolean[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            TimeEntryCreateRequest entry = entries.get(i);
+
+            List<TimeEntryValidationResponse.ConflictingEntry> conflicts = new ArrayList<>();
+            existingOverlaps.get(i).forEach(overlap -> conflicts.add(conflictWith(overlap)));
+            for (int j : newOverlaps.get(i)) {
+                if (j < i && accepted[j]) {
+                    conflicts.add(conflict(null, null, entries.get(j).getStartTime(), entries.get(j).getEndTime()));
+                }
+            }
+
+            TimeEntryValidationResponse response = check(date, entry.getStartTime(), entry.getEndTime(),
+                    conflicts, dailyMinutes);
+            responses.add(response);
+
+            if (response.getValid() && saveable.test(entry)) {
+                accepted[i] = true;
+                dailyMinutes += minutesBetween(entry.getStartTime(), entry.getEndTime());
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Record every overlapping pair that involves a new entry. Intervals are half-open, matching
+     * TimeEntryRepository.findOverlappingEntries; new entries without a valid range are left out
+     * (they fail on their range anyway).
+     */
+    private static void sweep(List<TimeEntry> existingEntries, List<TimeEntryCreateRequest> entries,
+                              List<List<TimeEntry>> existingOverlaps, List<List<Integer>> newOverlaps) {
+        List<Interval> intervals = new ArrayList<>(existingEntries.size() + entries.size());
+        for (TimeEntry existing : existingEntries) {
+            intervals.add(new Interval(existing.getStartTime(), existing.getEndTime(), -1, existing));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            TimeEntryCreateRequest entry = entries.get(i);
+            if (entry.getStartTime() != null && entry.getEndTime() != null
+                    && entry.getStartTime().isBefore(entry.getEndTime())) {
+                intervals.add(new Interval(entry.getStartTime(), entry.getEndTime(), i, null));
+            }
+        }
+        intervals.sort(Comparator.comparing(Interval::start).thenComparing(Interval::end));
+
+        // Intervals that started at or before the current one and have not ended yet all overlap it
+        List<Interval> active = new ArrayList<>();
+        for (Interval current : intervals) {
+            active.removeIf(interval -> !interval.end().isAfter(current.start()));
+            for (Interval other : active) {
+                if (current.index() >= 0 && other.index() >= 0) {
+                    newOverlaps.get(current.index()).add(other.index());
+                    newOverlaps.get(other.index()).add(current.index());
+                } else if (current.index() >= 0) {
+                    existingOverlaps.get(current.index()).add(other.existing());
+                } else if (other.index() >= 0) {
+                    existingOverlaps.get(other.index()).add(current.existing());
+                }
+            }
+            active.add(current);
+        }
+    }
+
+    private static TimeEntryValidationResponse.ConflictingEntry conflict(Long timeEntryId, String taskTitle,
+                                                                         LocalTime startTime, LocalTime endTime) {
+        TimeEntryValidationResponse.ConflictingEntry conflict = new TimeEntryValidationResponse.ConflictingEntry();
+        conflict.setTimeEntryId(timeEntryId);
+        conflict.setTaskTitle(taskTitle);
+        conflict.setStartTime(startTime.toString());
+        conflict.setEndTime(endTime.toString());
+        conflict.setConflictType("OVERLAP");
+        return conflict;
+    }
+
+    private static int minutesBetween(LocalTime startTime, LocalTime endTime) {
+        return (int) Duration.between(startTime, endTime).toMinutes();
+    }
+}
@@ -0,0 +1,100 @@
+package com.timetracker.service;
+
+import com.timetracker.cache.ReportCache;
+import com.timetracker.dto.mapper.ReportResponseMapper;
+import com.timetracker.dto.response.DailySummaryResponse;
+import com.timetracker.dto.response.HeatmapResponse;
+import com.timetracker.dto.response.WeeklySummaryResponse;
+import com.timetracker.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves reports from {@link ReportCache}, falling back to {@link ReportService} on a miss.
+ * Cached entries are dropped whenever a time entry in their range changes.
+ * <p>
+ * A cached report is shared by every request for it, so none is handed out mutable: map reports are
+ * stored as read-only copies, and response objects are copied on every read.
+ */
+@Service
+@RequiredArgsConstructor
+public class CachingReportService {
+
+    private final ReportService reportService;
+    private final ReportCache reportCache;
+    private final UserService userService;
+    private final ReportResponseMapper reportResponseMapper;
+
+    public DailySummaryResponse getDailySummary(LocalDate date) {
+        User user = userService.getCurrentUser();
+        return reportResponseMapper.copy(reportCache.get(key(user, "daily", date, date),
+                () -> reportService.getDailySummary(user, date)));
+    }
+
+    public WeeklySummaryResponse getWeeklySummary(LocalDate date) {
+        User user = userService.getCurrentUser();
+        LocalDate weekStart = date.with(DayOfWeek.MONDAY);
+        return reportResponseMapper.copy(reportCache.get(key(user, "weekly", weekStart, weekStart.plusDays(6)),
+                () -> reportService.getWeeklySummary(user, weekStart)));
+    }
+
+    public Map<String, Object> getStatistics(LocalDate startDate, LocalDate endDate) {
+        User user = userService.getCurrentUser();
+        return reportCache.get(key(user, "statistics", startDate, endDate),
+                () -> readOnly(reportService.getStatistics(user, startDate, endDate)));
+    }
+
+    public Map<String, Object> getEnhancedStatistics(LocalDate startDate, LocalDate endDate) {
+        return getEnhancedStatistics(userService.getCurrentUser(), startDate, endDate);
+    }
+
+    public Map<String, Object> getEnhancedStatistics(User user, LocalDate startDate, LocalDate endDate) {
+        return reportCache.get(key(user, "enhanced-statistics", startDate, endDate),
+                () -> readOnly(reportService.getEnhancedStatistics(user, startDate, endDate)));
+    }
+
+    public Map<String, Object> getProductivityInsights(LocalDate startDate, LocalDate endDate) {
+        return getProductivityInsights(userService.getCurrentUser(), startDate, endDate);
+    }
+
+    public Map<String, Object> getProductivityInsights(User user, LocalDate startDate, LocalDate endDate) {
+        return reportCache.get(key(user, "productivity-insights", startDate, endDate),
+                () -> readOnly(reportService.getProductivityInsights(user, startDate, endDate)));
+    }
+
+    public HeatmapResponse getHeatmap(int year, Long categoryId) {
+        User user = userService.getCurrentUser();
+        String report = categoryId == null ? "heatmap" : "heatmap:" + categoryId;
+        return reportResponseMapper.copy(reportCache.get(
+                key(user, report, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)),
+                () -> reportService.getHeatmap(user, year, categoryId)));
+    }
+
+    /**
+     * Read-only deep copy of a map report; its values are nested maps and lists of immutable values.
+     * Unlike {@code Map.copyOf}, null values (e.g. no most used task) are kept.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T readOnly(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((key, element) -> copy.put(key, readOnly(element)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List<?> list) {
+            return (T) list.stream().map(CachingReportService::readOnly).toList();
+        }
+        return value;
+    }
+
+    private static ReportCache.Key key(User user, String report, LocalDate startDate, LocalDate endDate) {
+        return new ReportCache.Key(user.getId(), report, startDate, endDate);
+    }
+}
@@ -6,12 +6,14 @@ import com.timetracker.dto.request.CategoryUpdateRequest;
 import com.timetracker.dto.response.CategoryResponse;
 import com.timetracker.entity.Category;
 import com.timetracker.entity.User;
+import com.timetracker.event.TasksChangedEvent;
 import com.timetracker.exception.ResourceNotFoundException;
 import com.timetracker.exception.ValidationException;
 import com.timetracker.repository.CategoryRepository;
 import com.timetracker.repository.TimeEntryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,10 +26,13 @@ import java.util.Optional;
 @Transactional
 public class CategoryService {
 
+    public static final String DEFAULT_CATEGORY_TITLE = "General";
+
     private final CategoryRepository categoryRepository;
     private final TimeEntryRepository timeEntryRepository;
     private final CategoryMapper categoryMapper;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all categories for the current user
@@ -107,6 +112,7 @@ public class CategoryService {
 
         Category savedCategory = categoryRepository.save(category);
         log.info("Updated category '{}' for user {}", savedCategory.getTitle(), user.getEmail());
+        eventPublisher.publishEvent(new TasksChangedEvent(user.getId()));
 
         return categoryMapper.toCategoryResponse(savedCategory);
     }
@@ -181,7 +187,7 @@ public class CategoryService {
         // Create default category
         Category category = new Category();
         category.setUser(user);
-        category.setTitle("General");
+        category.setTitle(DEFAULT_CATEGORY_TITLE);
         category.setDescription("Default category for time tracking");
         category.setIsDefault(true);
         category.setSortOrder(0);
@@ -0,0 +1,173 @@
+package com.timetracker.service;
+
+import com.timetracker.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV parser (RFC 4180), the reading counterpart of {@link CsvWriter}.
+ * <p>
+ * Records are read one at a time from a buffered window over the input, so memory use is bounded by
+ * the longest record. Quoted fields may contain delimiters, doubled quotes and line breaks; CRLF and
+ * LF line endings are accepted, blank lines are skipped and a leading byte order mark is ignored.
+ * <p>
+ * Not thread-safe; create one per import.
+ */
+public final class CsvReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final Reader in;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    public CsvReader(Reader in) {
+        this(in, ',');
+    }
+
+    public CsvReader(Reader in, char delimiter) {
+        this.in = in;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Fields of the next record, or null at the end of the input
+     *
+     * @throws ValidationException if a quoted field is not closed or a field is unreasonably long
+     */
+    public List<String> next() throws IOException {
+        if (!started) {
+            started = true;
+            if (peek() == '\uFEFF') {
+                position++;
+            }
+        }
+
+        // Skip blank lines
+        int c;
+        while ((c = peek()) == '\r' || c == '\n') {
+            endOfLine();
+        }
+        if (c < 0) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        while (true) {
+            boolean endOfRecord = readField();
+            fields.add(field.toString());
+            if (endOfRecord) {
+                return fields;
+            }
+        }
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} started (1-based)
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    // Internals
+
+    // Reads one field into the builder; returns whether it ended the record
+    private boolean readField() throws IOException {
+        field.setLength(0);
+        int c = peek();
+
+        if (c == '"') {
+            position++;
+            while (true) {
+                c = read();
+                if (c < 0) {
+                    throw new ValidationException("Malformed CSV: quoted field starting on line " + recordLine
+                            + " is not closed");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        position++;
+                    } else {
+                        break;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append((char) c);
+            }
+            c = peek(); // anything up to the next delimiter is kept as is
+        }
+
+        while (true) {
+            if (c < 0) {
+                return true;
+            }
+            if (c == delimiter) {
+                position++;
+                return false;
+            }
+            if (c == '\r' || c == '\n') {
+                endOfLine();
+                return true;
+            }
+            position++;
+            append((char) c);
+            c = peek();
+        }
+    }
+
+    private void append(char c) {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new ValidationException("Malformed CSV: field on line " + line + " exceeds "
+                    + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append(c);
+    }
+
+    // Consumes one line ending (CR, LF or CRLF)
+    private void endOfLine() throws IOException {
+        if (read() == '\r' && peek() == '\n') {
+            position++;
+        }
+        line++;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c >= 0) {
+            position++;
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,295 @@
+package com.timetracker.service;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Minimal CSV encoder that writes UTF-8 straight into a reusable byte buffer.
+ * <p>
+ * Numbers, dates, times and durations are formatted digit by digit, and text fields are encoded and
+ * escaped in a single pass: the field is written optimistically after a reserved quote slot, and the
+ * slot is either filled in (when a comma, quote or line break was seen) or closed up afterwards.
+ * Nothing is allocated per row.
+ * <p>
+ * Not thread-safe; create one per export.
+ */
+public final class CsvWriter implements Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private boolean rowStart = true;
+
+    public CsvWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    /**
+     * Write a whole line as is (e.g. a header); any open row is ended first
+     */
+    public CsvWriter line(String text) throws IOException {
+        if (!rowStart) {
+            endRow();
+        }
+        writeUtf8(text);
+        ensureCapacity(1);
+        buffer[position++] = '\n';
+        return this;
+    }
+
+    /**
+     * Text field, quoted and escaped only when it contains a comma, quote or line break; null is empty
+     */
+    public CsvWriter field(String value) throws IOException {
+        separator();
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+
+        // Worst case: every char doubled or 3 bytes, plus both quotes
+        int worstCase = value.length() * 3 + 2;
+        if (worstCase > buffer.length) {
+            writeLargeField(value);
+            return this;
+        }
+        ensureCapacity(worstCase);
+
+        int quoteSlot = position++;
+        boolean quote = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') {
+                    buffer[position++] = '"';
+                    quote = true;
+                } else if (c == ',' || c == '\n' || c == '\r') {
+                    quote = true;
+                }
+                buffer[position++] = (byte) c;
+            } else {
+                i = encodeNonAscii(value, i);
+            }
+        }
+
+        if (quote) {
+            buffer[quoteSlot] = '"';
+            buffer[position++] = '"';
+        } else {
+            System.arraycopy(buffer, quoteSlot + 1, buffer, quoteSlot, position - quoteSlot - 1);
+            position--;
+        }
+        return this;
+    }
+
+    public CsvWriter field(long value) throws IOException {
+        separator();
+        ensureCapacity(20);
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                writeUtf8(Long.toString(value));
+                return this;
+            }
+            buffer[position++] = '-';
+            value = -value;
+        }
+        writeDigits(value);
+        return this;
+    }
+
+    /**
+     * Date as yyyy-MM-dd (years 0-9999)
+     */
+    public CsvWriter field(LocalDate date) throws IOException {
+        separator();
+        if (date == null) {
+            return this;
+        }
+        ensureCapacity(10);
+        writePadded(date.getYear(), 4);
+        buffer[position++] = '-';
+        writePadded(date.getMonthValue(), 2);
+        buffer[position++] = '-';
+        writePadded(date.getDayOfMonth(), 2);
+        return this;
+    }
+
+    /**
+     * Time as HH:mm
+     */
+    public CsvWriter field(LocalTime time) throws IOException {
+        separator();
+        if (time == null) {
+            return this;
+        }
+        ensureCapacity(5);
+        writePadded(time.getHour(), 2);
+        buffer[position++] = ':';
+        writePadded(time.getMinute(), 2);
+        return this;
+    }
+
+    /**
+     * Minutes formatted as "0m", "45m", "2h" or "2h 15m"
+     */
+    public CsvWriter duration(int minutes) throws IOException {
+        separator();
+        ensureCapacity(24);
+        int hours = minutes / 60;
+        int remainingMinutes = minutes % 60;
+        if (hours != 0) {
+            writeDigits(hours);
+            buffer[position++] = 'h';
+        }
+        if (remainingMinutes != 0 || hours == 0) {
+            if (hours != 0) {
+                buffer[position++] = ' ';
+            }
+            writeDigits(remainingMinutes);
+            buffer[position++] = 'm';
+        }
+        return this;
+    }
+
+    public CsvWriter endRow() throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = '\n';
+        rowStart = true;
+        return this;
+    }
+
+    /**
+     * Bytes waiting in the buffer
+     */
+    public int buffered() {
+        return position;
+    }
+
+    /**
+     * Hand buffered bytes to the underlying stream (without flushing it)
+     */
+    public void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    // Internals
+
+    private void separator() throws IOException {
+        if (rowStart) {
+            rowStart = false;
+        } else {
+            ensureCapacity(1);
+            buffer[position++] = ',';
+        }
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+        }
+    }
+
+    private void writeDigits(long value) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private void writePadded(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        position += width;
+    }
+
+    // Encodes the non-ASCII char at index i (and its low surrogate, if any); returns the last index consumed
+    private int encodeNonAscii(String value, int i) {
+        char c = value.charAt(i);
+        if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            return i + 1;
+        } else if (Character.isSurrogate(c)) {
+            buffer[position++] = '?'; // unpaired surrogate, as String.getBytes(UTF_8) does
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return i;
+    }
+
+    // Fields too large to back-patch in the buffer: scan first, then encode in chunks
+    private void writeLargeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == '"' || c == ',' || c == '\n' || c == '\r';
+        }
+        if (quote) {
+            ensureCapacity(1);
+            buffer[position++] = '"';
+        }
+        for (int i = 0; i < value.length(); i++) {
+            ensureCapacity(4);
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (quote && c == '"') {
+                    buffer[position++] = '"';
+                }
+                buffer[position++] = (byte) c;
+            } else {
+                i = encodeNonAscii(value, i);
+            }
+        }
+        if (quote) {
+            ensureCapacity(1);
+            buffer[position++] = '"';
+        }
+    }
+
+    private void writeUtf8(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            ensureCapacity(4);
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else {
+                i = encodeNonAscii(text, i);
+            }
+        }
+    }
+}
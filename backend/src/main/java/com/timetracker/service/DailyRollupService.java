@@ -0,0 +1,98 @@
+package com.timetracker.service;
+
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.repository.DailyTaskTotalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the daily_task_totals rollup in step with time entry changes.
+ * Must be called inside the transaction that changes the entries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class DailyRollupService {
+
+    private final DailyTaskTotalRepository dailyTaskTotalRepository;
+
+    /**
+     * Snapshot of what a single time entry contributes to the rollup
+     */
+    public record Contribution(Long userId, LocalDate entryDate, Long taskId, int minutes, boolean billable) {
+
+        public static Contribution of(TimeEntry entry) {
+            return new Contribution(
+                    entry.getUser().getId(),
+                    entry.getEntryDate(),
+                    entry.getTask().getId(),
+                    entry.getDurationMinutes(),
+                    Boolean.TRUE.equals(entry.getIsBillable()));
+        }
+    }
+
+    /**
+     * Record a newly created time entry
+     */
+    public void recordCreated(TimeEntry entry) {
+        add(Contribution.of(entry));
+    }
+
+    /**
+     * Record a batch of newly created time entries, with one rollup upsert per day and task
+     */
+    public void recordCreated(Collection<TimeEntry> entries) {
+        Map<Contribution, int[]> counts = new LinkedHashMap<>();
+        for (TimeEntry entry : entries) {
+            Contribution contribution = Contribution.of(entry);
+            // Key on day and task only; minutes, count and billable minutes are summed
+            Contribution key = new Contribution(contribution.userId(), contribution.entryDate(),
+                    contribution.taskId(), 0, false);
+            int[] totals = counts.computeIfAbsent(key, k -> new int[3]);
+            totals[0] += contribution.minutes();
+            totals[1]++;
+            totals[2] += contribution.billable() ? contribution.minutes() : 0;
+        }
+        counts.forEach((key, totals) -> dailyTaskTotalRepository.applyDelta(
+                key.userId(), key.entryDate(), key.taskId(), totals[0], totals[1], totals[2]));
+    }
+
+    /**
+     * Record a deleted time entry
+     */
+    public void recordDeleted(TimeEntry entry) {
+        remove(Contribution.of(entry));
+    }
+
+    /**
+     * Record an updated time entry, given its contribution before the update
+     */
+    public void recordUpdated(Contribution before, TimeEntry entry) {
+        Contribution after = Contribution.of(entry);
+        if (before.equals(after)) {
+            return;
+        }
+        remove(before);
+        add(after);
+    }
+
+    private void add(Contribution contribution) {
+        dailyTaskTotalRepository.applyDelta(contribution.userId(), contribution.entryDate(), contribution.taskId(),
+                contribution.minutes(), 1, contribution.billable() ? contribution.minutes() : 0);
+    }
+
+    private void remove(Contribution contribution) {
+        dailyTaskTotalRepository.applyDelta(contribution.userId(), contribution.entryDate(), contribution.taskId(),
+                -contribution.minutes(), -1, contribution.billable() ? -contribution.minutes() : 0);
+        dailyTaskTotalRepository.deleteIfEmpty(contribution.userId(), contribution.entryDate(), contribution.taskId());
+    }
+}
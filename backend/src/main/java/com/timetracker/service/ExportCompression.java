@@ -0,0 +1,126 @@
+package com.timetracker.service;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.timetracker.exception.ValidationException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression applied to an export while it is streamed.
+ * <p>
+ * An explicit {@code ?compression=} parameter produces a compressed file download ({@code .csv.gz},
+ * {@code .csv.zst}); without it the encoding is negotiated from {@code Accept-Encoding} and applied
+ * transparently as {@code Content-Encoding}.
+ */
+public enum ExportCompression {
+
+    NONE(null, null, null),
+    GZIP("gzip", ".gz", "application/gzip"),
+    ZSTD("zstd", ".zst", "application/zstd");
+
+    // Preference order when negotiating
+    private static final ExportCompression[] NEGOTIABLE = {ZSTD, GZIP};
+
+    private final String token;
+    private final String fileExtension;
+    private final String fileContentType;
+
+    ExportCompression(String token, String fileExtension, String fileContentType) {
+        this.token = token;
+        this.fileExtension = fileExtension;
+        this.fileContentType = fileContentType;
+    }
+
+    /**
+     * How an export is compressed and whether the compression is part of the file or only of the transfer
+     */
+    public record Choice(ExportCompression compression, boolean asFile) {
+
+        public static final Choice NONE = new Choice(ExportCompression.NONE, false);
+
+        public boolean isCompressed() {
+            return compression != ExportCompression.NONE;
+        }
+    }
+
+    /**
+     * Resolve the compression from the request parameter (if any) or else the Accept-Encoding header
+     */
+    public static Choice resolve(String parameter, String acceptEncoding) {
+        if (parameter != null && !parameter.isBlank()) {
+            String value = parameter.trim().toLowerCase(Locale.ROOT);
+            if ("none".equals(value)) {
+                return Choice.NONE;
+            }
+            for (ExportCompression compression : NEGOTIABLE) {
+                if (compression.token.equals(value)) {
+                    return new Choice(compression, true);
+                }
+            }
+            throw new ValidationException("Unsupported compression '" + parameter + "' (expected gzip, zstd or none)");
+        }
+        return new Choice(negotiate(acceptEncoding), false);
+    }
+
+    /**
+     * Best supported encoding the client accepts (q > 0), or NONE
+     */
+    static ExportCompression negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return NONE;
+        }
+        for (ExportCompression compression : NEGOTIABLE) {
+            for (String part : acceptEncoding.split(",")) {
+                String[] tokens = part.trim().split(";");
+                if (tokens[0].trim().equalsIgnoreCase(compression.token) && quality(tokens) > 0) {
+                    return compression;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    public String fileContentType() {
+        return fileContentType;
+    }
+
+    /**
+     * Wrap the response stream; closing the returned stream finishes the compressed frame but leaves
+     * the response stream open
+     */
+    public OutputStream wrap(OutputStream out) throws IOException {
+        OutputStream target = StreamUtils.nonClosing(out);
+        return switch (this) {
+            case NONE -> target;
+            // Sync flush, so flushing the writer (e.g. after the header) pushes bytes to the client
+            case GZIP -> new GZIPOutputStream(target, 8192, true);
+            case ZSTD -> new ZstdOutputStream(target, 3);
+        };
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
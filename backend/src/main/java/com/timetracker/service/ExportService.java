@@ -1,281 +1,372 @@
 package com.timetracker.service;
 
+import com.timetracker.cache.ExportFileCache;
 import com.timetracker.entity.TimeEntry;
 import com.timetracker.entity.User;
+import com.timetracker.repository.DailyTaskTotalRepository;
 import com.timetracker.repository.TimeEntryRepository;
+import com.timetracker.repository.projection.DailySummaryRow;
+import com.timetracker.repository.projection.TaskTimeTotals;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
-
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * CSV and Parquet exports. Every export is streamed: rows are read from the database and written to the
+ * response as they arrive, inside a read-only transaction opened by the response body itself
+ * (it runs after the controller has returned, outside any request-scoped transaction).
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class ExportService {
 
     private final TimeEntryRepository timeEntryRepository;
+    private final DailyTaskTotalRepository dailyTaskTotalRepository;
     private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ExportFileCache exportFileCache;
 
     /**
      * Export time entries to CSV format for a date range
      */
-    public ResponseEntity<byte[]> exportTimeEntriesToCsv(LocalDate startDate, LocalDate endDate) {
+    public ResponseEntity<StreamingResponseBody> exportTimeEntriesToCsv(LocalDate startDate, LocalDate endDate,
+                                                                        ExportCompression.Choice compression) {
         User user = userService.getCurrentUser();
-        List<TimeEntry> timeEntries = timeEntryRepository.findByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
-                user, startDate, endDate);
-
-        try {
-            byte[] csvData = generateCsvData(timeEntries);
-
-            String filename = String.format("time_entries_%s_to_%s.csv",
-                    startDate.format(DateTimeFormatter.ISO_LOCAL_DATE),
-                    endDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("text/csv"));
-            headers.setContentDispositionFormData("attachment", filename);
-            headers.setContentLength(csvData.length);
 
+        StreamingResponseBody body = outputStream -> {
+            int rows = writeCsv(outputStream, compression.compression(),
+                    writer -> writeTimeEntriesCsv(writer, user, startDate, endDate));
             log.info("Exported {} time entries to CSV for user {} (date range: {} to {})",
-                    timeEntries.size(), user.getEmail(), startDate, endDate);
+                    rows, user.getEmail(), startDate, endDate);
+        };
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(csvData);
-
-        } catch (Exception e) {
-            log.error("Error exporting time entries to CSV for user {}: {}", user.getEmail(), e.getMessage(), e);
-            throw new RuntimeException("Failed to export time entries to CSV", e);
-        }
+        return csvResponse("time_entries", startDate, endDate, compression, body);
     }
 
     /**
      * Export daily summary to CSV format
      */
-    public ResponseEntity<byte[]> exportDailySummaryToCsv(LocalDate startDate, LocalDate endDate) {
+    public ResponseEntity<StreamingResponseBody> exportDailySummaryToCsv(LocalDate startDate, LocalDate endDate,
+                                                                         ExportCompression.Choice compression) {
         User user = userService.getCurrentUser();
 
-        try {
-            byte[] csvData = generateDailySummaryCsvData(user, startDate, endDate);
-
-            String filename = String.format("daily_summary_%s_to_%s.csv",
-                    startDate.format(DateTimeFormatter.ISO_LOCAL_DATE),
-                    endDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("text/csv"));
-            headers.setContentDispositionFormData("attachment", filename);
-            headers.setContentLength(csvData.length);
-
+        StreamingResponseBody body = outputStream -> {
+            writeCsv(outputStream, compression.compression(),
+                    writer -> writeDailySummaryCsv(writer, user, startDate, endDate));
             log.info("Exported daily summary to CSV for user {} (date range: {} to {})",
                     user.getEmail(), startDate, endDate);
+        };
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(csvData);
-
-        } catch (Exception e) {
-            log.error("Error exporting daily summary to CSV for user {}: {}", user.getEmail(), e.getMessage(), e);
-            throw new RuntimeException("Failed to export daily summary to CSV", e);
-        }
+        return csvResponse("daily_summary", startDate, endDate, compression, body);
     }
 
     /**
      * Export task summary to CSV format
      */
-    public ResponseEntity<byte[]> exportTaskSummaryToCsv(LocalDate startDate, LocalDate endDate) {
+    public ResponseEntity<StreamingResponseBody> exportTaskSummaryToCsv(LocalDate startDate, LocalDate endDate,
+                                                                        ExportCompression.Choice compression) {
         User user = userService.getCurrentUser();
-        List<TimeEntry> timeEntries = timeEntryRepository.findByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
-                user, startDate, endDate);
-
-        try {
-            byte[] csvData = generateTaskSummaryCsvData(timeEntries);
-
-            String filename = String.format("task_summary_%s_to_%s.csv",
-                    startDate.format(DateTimeFormatter.ISO_LOCAL_DATE),
-                    endDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("text/csv"));
-            headers.setContentDispositionFormData("attachment", filename);
-            headers.setContentLength(csvData.length);
 
+        StreamingResponseBody body = outputStream -> {
+            writeCsv(outputStream, compression.compression(),
+                    writer -> writeTaskSummaryCsv(writer, user, startDate, endDate));
             log.info("Exported task summary to CSV for user {} (date range: {} to {})",
                     user.getEmail(), startDate, endDate);
+        };
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(csvData);
-
-        } catch (Exception e) {
-            log.error("Error exporting task summary to CSV for user {}: {}", user.getEmail(), e.getMessage(), e);
-            throw new RuntimeException("Failed to export task summary to CSV", e);
-        }
+        return csvResponse("task_summary", startDate, endDate, compression, body);
     }
 
-    // Private helper methods
-
-    private byte[] generateCsvData(List<TimeEntry> timeEntries) throws Exception {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    /**
+     * Export a calendar month's time entries to CSV. Months that are over are generated once into the
+     * export cache and then served from disk (with Range support) until one of their entries changes.
+     * Cached months are only compressed when asked for as a compressed file; Accept-Encoding alone
+     * does not apply to them, as a transfer-encoded stream could not be resumed.
+     */
+    public ResponseEntity<?> exportMonthToCsv(int year, int month, ExportCompression.Choice compression) {
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+        if (!exportFileCache.isCacheable(endDate)) {
+            return exportTimeEntriesToCsv(startDate, endDate, compression);
+        }
 
-        // Write CSV header
-        writer.println("Date,Start Time,End Time,Duration (minutes),Duration (formatted),Task,Category,Description,Billable");
+        User user = userService.getCurrentUser();
+        Path file;
+        try {
+            Optional<Path> cached = exportFileCache.get(user.getId(), "time_entries", startDate, endDate, "csv",
+                    out -> writeCsv(out, ExportCompression.NONE,
+                            writer -> writeTimeEntriesCsv(writer, user, startDate, endDate)));
+            if (cached.isEmpty()) {
+                // Entries changed while the file was generated; stream the current data instead
+                return exportTimeEntriesToCsv(startDate, endDate, compression);
+            }
+            file = cached.get();
+        } catch (IOException e) {
+            log.warn("Export cache unavailable, streaming {} to {} directly: {}", startDate, endDate, e.getMessage());
+            return exportTimeEntriesToCsv(startDate, endDate, compression);
+        }
 
-        // Write data rows
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-        for (TimeEntry entry : timeEntries) {
-            String date = entry.getEntryDate().format(dateFormatter);
-            String startTime = entry.getStartTime().format(timeFormatter);
-            String endTime = entry.getEndTime().format(timeFormatter);
-            int durationMinutes = entry.getDurationMinutes();
-            String durationFormatted = formatMinutes(durationMinutes);
-            String taskTitle = escapeCsvValue(entry.getTask().getTitle());
-            String categoryTitle = escapeCsvValue(entry.getTask().getCategory().getTitle());
-            String description = escapeCsvValue(entry.getDescription() != null ? entry.getDescription() : "");
-            String billable = entry.getIsBillable() != null && entry.getIsBillable() ? "Yes" : "No";
-
-            writer.printf("%s,%s,%s,%d,%s,%s,%s,%s,%s%n",
-                    date, startTime, endTime, durationMinutes, durationFormatted,
-                    taskTitle, categoryTitle, description, billable);
+        if (compression.asFile()) {
+            // Compress from the cached file; still no database work
+            StreamingResponseBody body = outputStream -> {
+                try (OutputStream target = compression.compression().wrap(outputStream)) {
+                    Files.copy(file, target);
+                }
+            };
+            return csvResponse("time_entries", startDate, endDate, compression, body);
         }
 
-        writer.flush();
-        writer.close();
-        return outputStream.toByteArray();
+        // Served as a plain Resource, so Spring MVC answers Range requests (206) from the file
+        try {
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            return ResponseEntity.ok()
+                    .headers(csvHeaders("time_entries", startDate, endDate, ExportCompression.Choice.NONE))
+                    .lastModified(lastModified)
+                    .eTag(Long.toHexString(lastModified) + "-" + Long.toHexString(Files.size(file)))
+                    .body(new FileSystemResource(file));
+        } catch (IOException e) {
+            return exportTimeEntriesToCsv(startDate, endDate, compression);
+        }
     }
 
-    private byte[] generateDailySummaryCsvData(User user, LocalDate startDate, LocalDate endDate) throws Exception {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    /**
+     * Export time entries to Parquet format for a date range
+     */
+    public ResponseEntity<StreamingResponseBody> exportTimeEntriesToParquet(LocalDate startDate, LocalDate endDate) {
+        User user = userService.getCurrentUser();
 
-        // Write CSV header
-        writer.println("Date,Total Minutes,Total Time (formatted),Number of Entries,Categories Worked,Most Used Task");
+        StreamingResponseBody body = outputStream -> {
+            TimeEntryParquetWriter writer = new TimeEntryParquetWriter(outputStream);
+            int rows;
+            try {
+                rows = inReadOnlyTransaction(() -> writeTimeEntriesParquet(writer, user, startDate, endDate));
+            } catch (IOException | RuntimeException e) {
+                // No footer, so the partial file cannot be mistaken for a complete one
+                try {
+                    writer.abort();
+                } catch (IOException abortFailure) {
+                    e.addSuppressed(abortFailure);
+                }
+                throw e;
+            }
+            writer.close();
+            log.info("Exported {} time entries to Parquet for user {} (date range: {} to {})",
+                    rows, user.getEmail(), startDate, endDate);
+        };
+
+        String filename = String.format("time_entries_%s_to_%s.parquet",
+                startDate.format(DateTimeFormatter.ISO_LOCAL_DATE),
+                endDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/vnd.apache.parquet"));
+        headers.setContentDispositionFormData("attachment", filename);
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
 
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // Private helper methods
 
-        // Generate daily summaries
-        LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            List<TimeEntry> dayEntries = timeEntryRepository.findByUserAndEntryDateOrderByStartTimeAsc(user, currentDate);
-
-            String date = currentDate.format(dateFormatter);
-            int totalMinutes = dayEntries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
-            String totalTimeFormatted = formatMinutes(totalMinutes);
-            int entryCount = dayEntries.size();
-
-            long categoriesWorked = dayEntries.stream()
-                    .map(entry -> entry.getTask().getCategory().getTitle())
-                    .distinct()
-                    .count();
-
-            String mostUsedTask = dayEntries.stream()
-                    .collect(java.util.stream.Collectors.groupingBy(
-                            entry -> entry.getTask().getTitle(),
-                            java.util.stream.Collectors.summingInt(TimeEntry::getDurationMinutes)
-                    ))
-                    .entrySet().stream()
-                    .max(java.util.Map.Entry.comparingByValue())
-                    .map(entry -> escapeCsvValue(entry.getKey()))
-                    .orElse("");
-
-            writer.printf("%s,%d,%s,%d,%d,%s%n",
-                    date, totalMinutes, totalTimeFormatted, entryCount, categoriesWorked, mostUsedTask);
-
-            currentDate = currentDate.plusDays(1);
+    private ResponseEntity<StreamingResponseBody> csvResponse(String name, LocalDate startDate, LocalDate endDate,
+                                                              ExportCompression.Choice compression,
+                                                              StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .headers(csvHeaders(name, startDate, endDate, compression))
+                .body(body);
+    }
+
+    private HttpHeaders csvHeaders(String name, LocalDate startDate, LocalDate endDate,
+                                   ExportCompression.Choice compression) {
+        String filename = String.format("%s_%s_to_%s.csv", name,
+                startDate.format(DateTimeFormatter.ISO_LOCAL_DATE),
+                endDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
+
+        HttpHeaders headers = new HttpHeaders();
+        if (compression.asFile()) {
+            // Compressed file download: the client saves the .gz/.zst as is
+            headers.setContentType(MediaType.parseMediaType(compression.compression().fileContentType()));
+            filename += compression.compression().fileExtension();
+        } else {
+            headers.setContentType(MediaType.parseMediaType("text/csv"));
+            if (compression.isCompressed()) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, compression.compression().token());
+            }
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
         }
+        headers.setContentDispositionFormData("attachment", filename);
+        return headers;
+    }
 
-        writer.flush();
-        writer.close();
-        return outputStream.toByteArray();
+    /**
+     * Run a CSV writer against the (optionally compressed) response inside a read-only transaction,
+     * returning the number of rows written
+     */
+    private int writeCsv(OutputStream outputStream, ExportCompression compression, CsvRows rows) throws IOException {
+        try (OutputStream target = compression.wrap(outputStream)) {
+            CsvWriter writer = new CsvWriter(target);
+            int written = inReadOnlyTransaction(() -> rows.write(writer));
+            writer.flush();
+            return written;
+        }
     }
 
-    private byte[] generateTaskSummaryCsvData(List<TimeEntry> timeEntries) throws Exception {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    /**
+     * Run export work that reads from the database and writes to the response in its own read-only
+     * transaction (the response body runs after the request-scoped one has ended)
+     */
+    private int inReadOnlyTransaction(ExportWork work) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        try {
+            Integer written = transaction.execute(status -> {
+                try {
+                    return work.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return written != null ? written : 0;
+        } catch (UncheckedIOException e) {
+            // Usually the client going away; the cursor and transaction are already closed at this point
+            log.debug("Export aborted: {}", e.getCause().getMessage());
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            log.error("Error while streaming export: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
 
+    private int writeTimeEntriesCsv(CsvWriter writer, User user, LocalDate startDate, LocalDate endDate) throws IOException {
         // Write CSV header
-        writer.println("Task,Category,Total Minutes,Total Time (formatted),Entry Count,Average Session Length,Color,Icon");
-
-        // Group by task and calculate summaries
-        var taskSummaries = timeEntries.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        TimeEntry::getTask,
-                        java.util.stream.Collectors.toList()
-                ));
-
-        // Sort by total time descending
-        taskSummaries.entrySet().stream()
-                .sorted((a, b) -> {
-                    int totalA = a.getValue().stream().mapToInt(TimeEntry::getDurationMinutes).sum();
-                    int totalB = b.getValue().stream().mapToInt(TimeEntry::getDurationMinutes).sum();
-                    return Integer.compare(totalB, totalA);
-                })
-                .forEach(entry -> {
-                    var task = entry.getKey();
-                    var entries = entry.getValue();
-
-                    String taskTitle = escapeCsvValue(task.getTitle());
-                    String categoryTitle = escapeCsvValue(task.getCategory().getTitle());
-                    int totalMinutes = entries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
-                    String totalTimeFormatted = formatMinutes(totalMinutes);
-                    int entryCount = entries.size();
-                    int averageSessionLength = totalMinutes / entryCount;
-                    String averageSessionFormatted = formatMinutes(averageSessionLength);
-                    String color = task.getColor();
-                    String icon = task.getIcon() != null ? task.getIcon() : "";
-
-                    writer.printf("%s,%s,%d,%s,%d,%s,%s,%s%n",
-                            taskTitle, categoryTitle, totalMinutes, totalTimeFormatted,
-                            entryCount, averageSessionFormatted, color, icon);
-                });
-
+        writer.line("Date,Start Time,End Time,Duration (minutes),Duration (formatted),Task,Category,Description,Billable");
         writer.flush();
-        writer.close();
-        return outputStream.toByteArray();
-    }
 
-    private String escapeCsvValue(String value) {
-        if (value == null) {
-            return "";
+        // Write data rows
+        int rows = 0;
+        try (Stream<TimeEntry> timeEntries = timeEntryRepository.streamByUserAndEntryDateBetween(user, startDate, endDate)) {
+            for (TimeEntry entry : (Iterable<TimeEntry>) timeEntries::iterator) {
+                int durationMinutes = entry.getDurationMinutes();
+                writer.field(entry.getEntryDate())
+                        .field(entry.getStartTime())
+                        .field(entry.getEndTime())
+                        .field(durationMinutes)
+                        .duration(durationMinutes)
+                        .field(entry.getTask().getTitle())
+                        .field(entry.getTask().getCategory().getTitle())
+                        .field(entry.getDescription())
+                        .field(Boolean.TRUE.equals(entry.getIsBillable()) ? "Yes" : "No")
+                        .endRow();
+
+                // Tasks and categories stay managed (one per task); the entry itself is no longer needed
+                entityManager.detach(entry);
+                rows++;
+            }
         }
+        return rows;
+    }
 
-        // If the value contains comma, quote, or newline, wrap it in quotes and escape internal quotes
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
+    private int writeTimeEntriesParquet(TimeEntryParquetWriter writer, User user, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        int rows = 0;
+        try (Stream<TimeEntry> timeEntries = timeEntryRepository.streamByUserAndEntryDateBetween(user, startDate, endDate)) {
+            for (TimeEntry entry : (Iterable<TimeEntry>) timeEntries::iterator) {
+                writer.write(entry);
+                entityManager.detach(entry);
+                rows++;
+            }
         }
+        return rows;
+    }
 
-        return value;
+    private int writeDailySummaryCsv(CsvWriter writer, User user, LocalDate startDate, LocalDate endDate) throws IOException {
+        // Write CSV header
+        writer.line("Date,Total Minutes,Total Time (formatted),Number of Entries,Categories Worked,Most Used Task");
+        writer.flush();
+
+        // One row per tracked day from a single grouped query; days without entries are filled in between
+        int rows = 0;
+        LocalDate currentDate = startDate;
+        try (Stream<DailySummaryRow> days = dailyTaskTotalRepository.streamDailySummaries(user.getId(), startDate, endDate)) {
+            Iterator<DailySummaryRow> iterator = days.iterator();
+            DailySummaryRow day = iterator.hasNext() ? iterator.next() : null;
+
+            while (!currentDate.isAfter(endDate)) {
+                writer.field(currentDate);
+                if (day != null && day.getEntryDate().equals(currentDate)) {
+                    int totalMinutes = day.getTotalMinutes().intValue();
+                    writer.field(totalMinutes)
+                            .duration(totalMinutes)
+                            .field(day.getEntryCount())
+                            .field(day.getCategoriesWorked())
+                            .field(day.getMostUsedTask());
+                    day = iterator.hasNext() ? iterator.next() : null;
+                } else {
+                    writer.field(0).duration(0).field(0).field(0).field((String) null);
+                }
+                writer.endRow();
+
+                rows++;
+                currentDate = currentDate.plusDays(1);
+            }
+        }
+        return rows;
     }
 
-    private String formatMinutes(int minutes) {
-        if (minutes == 0) {
-            return "0m";
+    private int writeTaskSummaryCsv(CsvWriter writer, User user, LocalDate startDate, LocalDate endDate) throws IOException {
+        // Write CSV header
+        writer.line("Task,Category,Total Minutes,Total Time (formatted),Entry Count,Average Session Length,Color,Icon");
+
+        // One aggregated row per task, already sorted by total time descending
+        List<TaskTimeTotals> taskTotals = timeEntryRepository.sumByTask(user, startDate, endDate);
+        for (TaskTimeTotals totals : taskTotals) {
+            int totalMinutes = totals.totalMinutes().intValue();
+            int entryCount = totals.entryCount().intValue();
+
+            writer.field(totals.taskTitle())
+                    .field(totals.categoryTitle())
+                    .field(totalMinutes)
+                    .duration(totalMinutes)
+                    .field(entryCount)
+                    .duration(totalMinutes / entryCount)
+                    .field(totals.taskColor())
+                    .field(totals.taskIcon())
+                    .endRow();
         }
+        return taskTotals.size();
+    }
 
-        int hours = minutes / 60;
-        int remainingMinutes = minutes % 60;
+    @FunctionalInterface
+    private interface CsvRows {
+        int write(CsvWriter writer) throws IOException;
+    }
 
-        if (hours == 0) {
-            return remainingMinutes + "m";
-        } else if (remainingMinutes == 0) {
-            return hours + "h";
-        } else {
-            return hours + "h " + remainingMinutes + "m";
-        }
+    @FunctionalInterface
+    private interface ExportWork {
+        int run() throws IOException;
     }
-}
\ No newline at end of file
+}
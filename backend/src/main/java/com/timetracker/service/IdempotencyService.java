@@ -0,0 +1,152 @@
+package com.timetracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timetracker.entity.IdempotencyRecord;
+import com.timetracker.entity.User;
+import com.timetracker.exception.IdempotencyKeyReusedException;
+import com.timetracker.exception.ValidationException;
+import com.timetracker.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Makes create requests safe to retry with an {@code Idempotency-Key} header.
+ * <p>
+ * The key is claimed, the operation runs and its response is stored in one transaction, so the stored
+ * response exists exactly when the operation's writes were committed; a failed operation rolls back
+ * and releases the key. A retry with the same key gets the stored response back without running the
+ * operation again, and a duplicate sent while the first request is still running waits for it on the
+ * key's row. Keys are scoped to the user and kept for {@code app.idempotency.ttl}.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              UserService userService,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Run {@code operation} once per key: the first request with a key runs it, later requests with
+     * the same key and request get its stored response.
+     *
+     * @param idempotencyKey header value, or null to just run the operation
+     * @param operationName  identifies the endpoint, so a key cannot be replayed across endpoints
+     * @param request        request body, compared (by hash) with the one the key was first used with
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     */
+    public ResponseEntity<?> execute(String idempotencyKey, String operationName, Object request,
+                                     Supplier<ResponseEntity<?>> operation) {
+        if (idempotencyKey == null) {
+            return operation.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(operationName, request);
+        return transactionTemplate.execute(status -> {
+            User user = userService.getCurrentUser();
+            LocalDateTime now = LocalDateTime.now();
+
+            if (idempotencyRecordRepository.claim(user.getId(), idempotencyKey, requestHash, now, now.minus(ttl)) == 0) {
+                return replay(user, idempotencyKey, requestHash);
+            }
+
+            ResponseEntity<?> response = operation.get();
+            idempotencyRecordRepository.complete(user.getId(), idempotencyKey,
+                    response.getStatusCode().value(), toJson(response.getBody()));
+            return response;
+        });
+    }
+
+    /**
+     * Delete records whose retention period has passed
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval:3600000}")
+    public void removeExpiredKeys() {
+        Integer removed = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteExpired(LocalDateTime.now().minus(ttl)));
+        if (removed != null && removed > 0) {
+            log.debug("Removed {} expired idempotency keys", removed);
+        }
+    }
+
+    // Private helper methods
+
+    private ResponseEntity<?> replay(User user, String idempotencyKey, String requestHash) {
+        IdempotencyRecord record = idempotencyRecordRepository
+                .findById(new IdempotencyRecord.Key(user.getId(), idempotencyKey))
+                .orElseThrow(() -> new IllegalStateException("Idempotency key vanished while claimed"));
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+
+        log.debug("Replaying stored response for idempotency key {}", idempotencyKey);
+        try {
+            return ResponseEntity.status(record.getStatusCode())
+                    .header(REPLAYED_HEADER, "true")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.readTree(record.getResponseBody()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String hash(String operationName, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operationName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
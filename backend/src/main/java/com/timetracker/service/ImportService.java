@@ -0,0 +1,452 @@
+package com.timetracker.service;
+
+import com.timetracker.dto.mapper.TimeEntryMapper;
+import com.timetracker.dto.request.CsvImportMapping;
+import com.timetracker.dto.request.TimeEntryCreateRequest;
+import com.timetracker.dto.response.ImportResponse;
+import com.timetracker.dto.response.TimeEntryValidationResponse;
+import com.timetracker.entity.Category;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import com.timetracker.event.TimeEntriesChangedEvent;
+import com.timetracker.exception.ValidationException;
+import com.timetracker.repository.CategoryRepository;
+import com.timetracker.repository.TaskRepository;
+import com.timetracker.repository.TimeEntryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports time entries from CSV.
+ * <p>
+ * The file is parsed as a stream and imported a day at a time (consecutive rows with the same date):
+ * each chunk is validated in memory against the day by {@link BulkIntervalValidator} and its valid
+ * rows are inserted as JDBC batches in a transaction of its own, so a failure only loses that chunk.
+ * Categories and tasks are matched by title through maps loaded once, and created when missing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportService {
+
+    private static final int MAX_ROWS_PER_CHUNK = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    // Colors given to created tasks before falling back to generated ones (unique within a category)
+    private static final String[] TASK_COLORS = {
+            "#3498db", "#e74c3c", "#2ecc71", "#f39c12", "#9b59b6", "#1abc9c",
+            "#e67e22", "#34495e", "#16a085", "#c0392b", "#8e44ad", "#27ae60"
+    };
+
+    // Key of the default category in the title map; real titles are never blank
+    private static final String DEFAULT_CATEGORY = "";
+
+    private final TimeEntryRepository timeEntryRepository;
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+    private final TimeEntryMapper timeEntryMapper;
+    private final UserService userService;
+    private final CategoryService categoryService;
+    private final BulkIntervalValidator bulkIntervalValidator;
+    private final DailyRollupService dailyRollupService;
+    private final LiveTimerService liveTimerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    private record Row(long line, TimeEntryCreateRequest request, String categoryTitle, String taskTitle) {
+    }
+
+    /**
+     * Import time entries from a CSV stream, reporting the rows that could not be imported
+     *
+     * @throws ValidationException if the file is empty, a mapped column is missing or a format is invalid
+     */
+    public ImportResponse importTimeEntriesFromCsv(InputStream input, CsvImportMapping mapping) throws IOException {
+        User user = userService.getCurrentUser();
+        CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8),
+                delimiter(mapping.getDelimiter()));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new ValidationException("CSV file is empty");
+        }
+        Columns columns = new Columns(header, mapping);
+        ImportRun run = new ImportRun(user);
+
+        List<Row> chunk = new ArrayList<>();
+        try {
+            for (List<String> record = reader.next(); record != null; record = reader.next()) {
+                run.totalRows++;
+                Row row;
+                try {
+                    row = columns.parse(reader.recordLine(), record);
+                } catch (ValidationException e) {
+                    run.fail(reader.recordLine(), e.getMessage());
+                    continue;
+                }
+
+                LocalDate chunkDate = chunk.isEmpty() ? null : chunk.get(0).request().getEntryDate();
+                if (chunkDate != null && (!chunkDate.equals(row.request().getEntryDate())
+                        || chunk.size() >= MAX_ROWS_PER_CHUNK)) {
+                    importChunk(run, chunk);
+                    chunk.clear();
+                }
+                chunk.add(row);
+            }
+        } catch (ValidationException e) {
+            // Malformed CSV; the rows read before it are still imported
+            run.fail(reader.recordLine(), e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(run, chunk);
+        }
+
+        log.info("Imported {} of {} CSV rows ({} failed, {} categories and {} tasks created) for user {}",
+                run.importedCount, run.totalRows, run.failedCount, run.createdCategories, run.createdTasks,
+                user.getEmail());
+        return run.toResponse();
+    }
+
+    // Private helper methods
+
+    /**
+     * Validate and save one day's chunk of rows in its own transaction
+     */
+    private void importChunk(ImportRun run, List<Row> rows) {
+        LocalDate date = rows.get(0).request().getEntryDate();
+        Chunk chunk = new Chunk();
+
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.executeWithoutResult(status -> {
+                liveTimerService.flush(run.user.getId(), List.of(date)); // validated against what is stored
+                List<TimeEntryValidationResponse> validations = bulkIntervalValidator.validateDay(
+                        run.user, date, rows.stream().map(Row::request).toList(), request -> true);
+                User user = entityManager.getReference(User.class, run.user.getId());
+
+                List<TimeEntry> accepted = new ArrayList<>();
+                for (int i = 0; i < rows.size(); i++) {
+                    Row row = rows.get(i);
+                    TimeEntryValidationResponse validation = validations.get(i);
+                    if (!validation.getValid()) {
+                        chunk.errors.add(new ImportResponse.RowError(row.line(),
+                                String.join(", ", validation.getErrors())));
+                        continue;
+                    }
+
+                    TimeEntry timeEntry = timeEntryMapper.toEntity(row.request());
+                    timeEntry.setUser(user);
+                    timeEntry.setTask(entityManager.getReference(Task.class, run.resolveTask(row, chunk, user)));
+                    timeEntry.calculateDurationMinutes();
+                    accepted.add(timeEntry);
+                }
+
+                // Ids come from the pooled sequence, so these inserts are batched at flush
+                timeEntryRepository.saveAll(accepted);
+                dailyRollupService.recordCreated(accepted);
+                if (!accepted.isEmpty()) {
+                    eventPublisher.publishEvent(TimeEntriesChangedEvent.of(run.user.getId(), date));
+                }
+                chunk.imported = accepted.size();
+            });
+            run.committed(chunk);
+        } catch (RuntimeException e) {
+            String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Could not import {} CSV rows for {}: {}", rows.size(), date, reason);
+            rows.forEach(row -> run.fail(row.line(), "Could not be saved: " + reason));
+        }
+    }
+
+    private static char delimiter(String delimiter) {
+        if ("tab".equalsIgnoreCase(delimiter) || "\t".equals(delimiter)) {
+            return '\t';
+        }
+        if (delimiter == null || delimiter.length() != 1 || delimiter.charAt(0) == '"'
+                || delimiter.charAt(0) == '\n' || delimiter.charAt(0) == '\r') {
+            throw new ValidationException("Delimiter must be a single character other than a quote or line break");
+        }
+        return delimiter.charAt(0);
+    }
+
+    /**
+     * What one chunk changed; applied to the run only once its transaction has committed
+     */
+    private static final class Chunk {
+        private final List<ImportResponse.RowError> errors = new ArrayList<>();
+        private final Map<String, Long> categoryIds = new HashMap<>();
+        private final Map<String, Long> taskIds = new HashMap<>();
+        private int createdCategories;
+        private int createdTasks;
+        private int imported;
+    }
+
+    /**
+     * State of one import: title maps, counters and the error report
+     */
+    private final class ImportRun {
+
+        private final User user;
+        private final Map<String, Long> categoryIds = new HashMap<>();
+        private final Map<String, Long> taskIds = new HashMap<>(); // by taskKey(categoryId, title)
+        private final Map<Long, Set<String>> taskColors = new HashMap<>(); // lower case, by category id
+        private final List<ImportResponse.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedCount;
+        private long failedCount;
+        private int createdCategories;
+        private int createdTasks;
+
+        ImportRun(User user) {
+            this.user = user;
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                for (Category category : categoryRepository.findByUserOrderBySortOrderAscTitleAsc(user)) {
+                    categoryIds.putIfAbsent(category.getTitle(), category.getId());
+                    if (Boolean.TRUE.equals(category.getIsDefault())) {
+                        categoryIds.put(DEFAULT_CATEGORY, category.getId());
+                    }
+                }
+                for (Task task : taskRepository.findAllByUser(user)) {
+                    Long categoryId = task.getCategory().getId();
+                    taskIds.putIfAbsent(taskKey(categoryId, task.getTitle()), task.getId());
+                    taskColors.computeIfAbsent(categoryId, id -> new HashSet<>())
+                            .add(task.getColor().toLowerCase(Locale.ROOT));
+                }
+            });
+        }
+
+        /**
+         * Id of the row's task, creating it (and its category) if it does not exist yet
+         */
+        Long resolveTask(Row row, Chunk chunk, User userReference) {
+            String categoryTitle = row.categoryTitle().isEmpty() ? DEFAULT_CATEGORY : row.categoryTitle();
+            Long categoryId = categoryId(categoryTitle, chunk);
+            if (categoryId == null && DEFAULT_CATEGORY.equals(categoryTitle)) {
+                // Without a default category, one titled like the default stands in for it, as creating
+                // the default would clash with its title
+                categoryId = categoryId(CategoryService.DEFAULT_CATEGORY_TITLE, chunk);
+                if (categoryId == null) {
+                    Category category = categoryService.getOrCreateDefaultCategory(user);
+                    categoryId = category.getId();
+                    chunk.categoryIds.put(category.getTitle(), categoryId);
+                }
+                chunk.categoryIds.put(DEFAULT_CATEGORY, categoryId);
+            } else if (categoryId == null) {
+                Category category = new Category();
+                category.setUser(userReference);
+                category.setTitle(categoryTitle);
+                category.setSortOrder(categoryIds.size() + chunk.categoryIds.size());
+                chunk.createdCategories++;
+                categoryId = categoryRepository.save(category).getId();
+                chunk.categoryIds.put(categoryTitle, categoryId);
+            }
+
+            String key = taskKey(categoryId, row.taskTitle());
+            Long taskId = taskIds.get(key);
+            if (taskId == null) {
+                Long taskCategoryId = categoryId;
+                taskId = chunk.taskIds.computeIfAbsent(key, k -> {
+                    Task task = new Task();
+                    task.setCategory(entityManager.getReference(Category.class, taskCategoryId));
+                    task.setTitle(row.taskTitle());
+                    task.setColor(nextColor(taskCategoryId));
+                    task.setSortOrder(taskColors.get(taskCategoryId).size());
+                    chunk.createdTasks++;
+                    return taskRepository.save(task).getId();
+                });
+            }
+            return taskId;
+        }
+
+        void committed(Chunk chunk) {
+            categoryIds.putAll(chunk.categoryIds);
+            taskIds.putAll(chunk.taskIds);
+            createdCategories += chunk.createdCategories;
+            createdTasks += chunk.createdTasks;
+            importedCount += chunk.imported;
+            chunk.errors.forEach(error -> fail(error.getLine(), error.getMessage()));
+        }
+
+        void fail(long line, String message) {
+            failedCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportResponse.RowError(line, message));
+            }
+        }
+
+        ImportResponse toResponse() {
+            ImportResponse response = new ImportResponse();
+            response.setTotalRows(totalRows);
+            response.setImportedCount(importedCount);
+            response.setFailedCount(failedCount);
+            response.setCreatedCategories(createdCategories);
+            response.setCreatedTasks(createdTasks);
+            response.setErrors(errors);
+            response.setErrorsTruncated(failedCount > errors.size());
+            return response;
+        }
+
+        // Palette first, then generated colors; a color left over from a rolled back chunk is just skipped
+        private String nextColor(Long categoryId) {
+            Set<String> used = taskColors.computeIfAbsent(categoryId, id -> new HashSet<>());
+            for (String color : TASK_COLORS) {
+                if (used.add(color)) {
+                    return color;
+                }
+            }
+            for (int i = used.size(); ; i++) {
+                String color = String.format("#%06x", (i * 0x9E3779B1) & 0xFFFFFF);
+                if (used.add(color)) {
+                    return color;
+                }
+            }
+        }
+
+        // Categories created by a chunk that has not committed yet are only known to that chunk
+        private Long categoryId(String title, Chunk chunk) {
+            Long categoryId = categoryIds.get(title);
+            return categoryId != null ? categoryId : chunk.categoryIds.get(title);
+        }
+
+        private static String taskKey(Long categoryId, String title) {
+            return categoryId + "/" + title;
+        }
+    }
+
+    /**
+     * Positions of the mapped columns in the header, and the parsing of a record into a row
+     */
+    private static final class Columns {
+
+        private final int date;
+        private final int startTime;
+        private final int endTime;
+        private final int task;
+        private final int category;
+        private final int description;
+        private final int billable;
+        private final DateTimeFormatter dateFormat;
+        private final DateTimeFormatter timeFormat;
+
+        Columns(List<String> header, CsvImportMapping mapping) {
+            date = required(header, mapping.getDateColumn());
+            startTime = required(header, mapping.getStartTimeColumn());
+            endTime = required(header, mapping.getEndTimeColumn());
+            task = required(header, mapping.getTaskColumn());
+            category = indexOf(header, mapping.getCategoryColumn());
+            description = indexOf(header, mapping.getDescriptionColumn());
+            billable = indexOf(header, mapping.getBillableColumn());
+            dateFormat = formatter(mapping.getDateFormat(), "date");
+            timeFormat = formatter(mapping.getTimeFormat(), "time");
+        }
+
+        Row parse(long line, List<String> record) {
+            TimeEntryCreateRequest request = new TimeEntryCreateRequest();
+            request.setEntryDate(parseDate(value(record, date)));
+            request.setStartTime(parseTime(value(record, startTime), "start time"));
+            request.setEndTime(parseTime(value(record, endTime), "end time"));
+
+            String taskTitle = value(record, task);
+            if (taskTitle.isEmpty()) {
+                throw new ValidationException("Task is required");
+            }
+            String categoryTitle = value(record, category);
+            if (taskTitle.length() > MAX_TITLE_LENGTH || categoryTitle.length() > MAX_TITLE_LENGTH) {
+                throw new ValidationException("Task and category titles cannot exceed " + MAX_TITLE_LENGTH + " characters");
+            }
+
+            String descriptionText = value(record, description);
+            if (descriptionText.length() > MAX_DESCRIPTION_LENGTH) {
+                throw new ValidationException("Description cannot exceed " + MAX_DESCRIPTION_LENGTH + " characters");
+            }
+            request.setDescription(descriptionText.isEmpty() ? null : descriptionText);
+            request.setIsBillable(parseBillable(value(record, billable)));
+
+            return new Row(line, request, categoryTitle, taskTitle);
+        }
+
+        private LocalDate parseDate(String text) {
+            try {
+                return LocalDate.parse(text, dateFormat);
+            } catch (DateTimeParseException e) {
+                throw new ValidationException("Invalid date '" + text + "'");
+            }
+        }
+
+        private LocalTime parseTime(String text, String name) {
+            try {
+                return LocalTime.parse(text, timeFormat);
+            } catch (DateTimeParseException e) {
+                throw new ValidationException("Invalid " + name + " '" + text + "'");
+            }
+        }
+
+        private static Boolean parseBillable(String text) {
+            return switch (text.toLowerCase(Locale.ROOT)) {
+                case "", "no", "n", "false", "0" -> false;
+                case "yes", "y", "true", "1" -> true;
+                default -> throw new ValidationException("Invalid billable value '" + text + "'");
+            };
+        }
+
+        private static String value(List<String> record, int index) {
+            return index >= 0 && index < record.size() ? record.get(index).trim() : "";
+        }
+
+        private static int required(List<String> header, String name) {
+            int index = indexOf(header, name);
+            if (index < 0) {
+                throw new ValidationException("CSV header has no '" + name + "' column");
+            }
+            return index;
+        }
+
+        private static int indexOf(List<String> header, String name) {
+            if (name == null || name.isBlank()) {
+                return -1;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).trim().equalsIgnoreCase(name.trim())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static DateTimeFormatter formatter(String pattern, String name) {
+            try {
+                return DateTimeFormatter.ofPattern(pattern);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("Invalid " + name + " format '" + pattern + "'");
+            }
+        }
+    }
+}
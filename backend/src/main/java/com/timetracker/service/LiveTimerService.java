@@ -0,0 +1,298 @@
+package com.timetracker.service;
+
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import com.timetracker.event.TimeEntriesChangedEvent;
+import com.timetracker.exception.ResourceNotFoundException;
+import com.timetracker.exception.ValidationException;
+import com.timetracker.repository.TimeEntryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for running timers.
+ * <p>
+ * Clients extend a running entry's end time every minute. A heartbeat is checked against bounds
+ * loaded when the timer is first seen (its start, the start of the next entry of the day and the
+ * minutes of the day's other entries, for the daily limit), so it is just a memory write. The latest end time per user is written to the database when the timer is
+ * stopped and every {@code app.live-timer.flush-interval}, and on shutdown.
+ * <p>
+ * In between, {@link TimeEntryService} shows the pending end time on the day's entries and daily
+ * total, and checks new entries against it; bulk writes to the timer's day, reports and exports
+ * write it first (see {@link #flush(Long, Collection)} and
+ * {@link com.timetracker.config.LiveTimerFlushInterceptor}). A written timer is forgotten and its
+ * bounds are loaded again by the next heartbeat, since the day may have changed in between.
+ */
+@Service
+@Slf4j
+public class LiveTimerService {
+
+    private static final int MINIMUM_MINUTES = 15;
+    private static final int MAXIMUM_DAILY_MINUTES = 24 * 60;
+
+    /**
+     * A running timer's end time that is not written yet, next to the stored one
+     */
+    public record PendingEndTime(Long entryId, LocalDate entryDate, LocalTime startTime,
+                                 LocalTime storedEndTime, LocalTime endTime) {
+
+        /**
+         * Minutes the pending end time adds to the stored entry (negative if it moved back)
+         */
+        public int extraMinutes() {
+            return (int) Duration.between(storedEndTime, endTime).toMinutes();
+        }
+    }
+
+    private static final class Timer {
+        private final Long entryId;
+        private final LocalDate entryDate;
+        private final LocalTime startTime;
+        private final LocalTime storedEndTime;
+        private final LocalTime limit;
+        private final int otherMinutes;
+        private LocalTime endTime;
+        private boolean flushed;
+
+        private Timer(TimeEntry entry, LocalTime limit, int otherMinutes) {
+            this.entryId = entry.getId();
+            this.entryDate = entry.getEntryDate();
+            this.startTime = entry.getStartTime();
+            this.storedEndTime = entry.getEndTime();
+            this.endTime = entry.getEndTime();
+            this.limit = limit;
+            this.otherMinutes = otherMinutes;
+        }
+
+        private boolean dirty() {
+            return !endTime.equals(storedEndTime);
+        }
+    }
+
+    private final TimeEntryRepository timeEntryRepository;
+    private final DailyRollupService dailyRollupService;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Running timer per user id
+    private final Map<Long, Timer> timers = new ConcurrentHashMap<>();
+
+    public LiveTimerService(TimeEntryRepository timeEntryRepository,
+                            DailyRollupService dailyRollupService,
+                            UserService userService,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager) {
+        this.timeEntryRepository = timeEntryRepository;
+        this.dailyRollupService = dailyRollupService;
+        this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Move the end of one of the current user's entries, to be written later
+     *
+     * @throws ValidationException if the entry would get shorter than the minimum, run into the next entry
+     *                             or take the day's total over 24 hours
+     */
+    public void heartbeat(Long entryId, LocalTime endTime) {
+        User user = userService.getCurrentUser();
+
+        while (true) {
+            Timer timer = timers.get(user.getId());
+            if (timer == null || !timer.entryId.equals(entryId)) {
+                if (timer != null) {
+                    flush(user.getId()); // the user switched to another entry
+                }
+                timer = load(user, entryId);
+                Timer existing = timers.putIfAbsent(user.getId(), timer);
+                if (existing != null) {
+                    continue; // a concurrent heartbeat registered one first
+                }
+            }
+
+            synchronized (timer) {
+                if (timer.flushed) {
+                    continue; // written in the meantime; load fresh bounds
+                }
+                validate(timer, endTime);
+                timer.endTime = endTime;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write the current user's running timer now and forget it
+     *
+     * @throws ValidationException if the end time cannot be written (e.g. another entry now overlaps it);
+     *                             it is not kept
+     */
+    public void stop(Long entryId, LocalTime endTime) {
+        if (endTime != null) {
+            heartbeat(entryId, endTime);
+        }
+        try {
+            flush(userService.getCurrentUser().getId());
+        } catch (DataAccessException e) {
+            throw new ValidationException("Running time entry could not be saved: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    /**
+     * The user's running timer's end time, if it moved since it was last written
+     */
+    public Optional<PendingEndTime> pendingEndTime(Long userId) {
+        Timer timer = timers.get(userId);
+        if (timer == null) {
+            return Optional.empty();
+        }
+        synchronized (timer) {
+            if (timer.flushed || !timer.dirty()) {
+                return Optional.empty();
+            }
+            return Optional.of(new PendingEndTime(timer.entryId, timer.entryDate, timer.startTime,
+                    timer.storedEndTime, timer.endTime));
+        }
+    }
+
+    /**
+     * Whether any user has a running timer; lets callers skip resolving the user otherwise
+     */
+    public boolean hasTimers() {
+        return !timers.isEmpty();
+    }
+
+    /**
+     * Write the user's running timer, if any, and forget it. Joins the caller's transaction, if any.
+     *
+     * @throws RuntimeException if the end time cannot be written; it is not kept
+     */
+    public void flush(Long userId) {
+        Timer timer = timers.remove(userId);
+        if (timer == null) {
+            return;
+        }
+
+        LocalTime endTime;
+        synchronized (timer) {
+            timer.flushed = true;
+            if (!timer.dirty()) {
+                return;
+            }
+            endTime = timer.endTime;
+        }
+        write(userId, timer, endTime);
+    }
+
+    /**
+     * Write the user's running timer first if it runs on one of these days, for writes that
+     * validate the days against what is stored
+     */
+    public void flush(Long userId, Collection<LocalDate> dates) {
+        Timer timer = timers.get(userId);
+        if (timer != null && dates.contains(timer.entryDate)) {
+            flush(userId);
+        }
+    }
+
+    /**
+     * Forget the user's running timer on this entry without writing it, as the entry was just
+     * changed or deleted by a regular request
+     */
+    public void discard(Long userId, Long entryId) {
+        Timer timer = timers.get(userId);
+        if (timer != null && timer.entryId.equals(entryId) && timers.remove(userId, timer)) {
+            synchronized (timer) {
+                timer.flushed = true;
+            }
+        }
+    }
+
+    /**
+     * Write every running timer; failures are logged and the value dropped
+     */
+    @Scheduled(fixedDelayString = "${app.live-timer.flush-interval:300000}")
+    public void flushAll() {
+        List<Long> userIds = new ArrayList<>(timers.keySet());
+        for (Long userId : userIds) {
+            try {
+                flush(userId);
+            } catch (RuntimeException e) {
+                // The day changed underneath the timer (e.g. an entry was created in its way)
+                log.warn("Could not write live timer of user {}: {}", userId, e.getMessage());
+            }
+        }
+        if (!userIds.isEmpty()) {
+            log.debug("Flushed {} live timers", userIds.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushAll();
+    }
+
+    // Private helper methods
+
+    private Timer load(User user, Long entryId) {
+        return transactionTemplate.execute(status -> {
+            TimeEntry entry = timeEntryRepository.findById(entryId)
+                    .filter(timeEntry -> timeEntry.getUser().getId().equals(user.getId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Time entry not found with id: " + entryId));
+            LocalTime limit = timeEntryRepository.findFirstByUserAndEntryDateAndStartTimeGreaterThanOrderByStartTimeAsc(
+                            user, entry.getEntryDate(), entry.getStartTime())
+                    .map(TimeEntry::getStartTime)
+                    .orElse(LocalTime.MAX);
+            Integer dailyTotal = timeEntryRepository.getTotalMinutesForDate(user, entry.getEntryDate());
+            int otherMinutes = (dailyTotal != null ? dailyTotal : 0) - entry.getDurationMinutes();
+            return new Timer(entry, limit, otherMinutes);
+        });
+    }
+
+    private static void validate(Timer timer, LocalTime endTime) {
+        if (!timer.startTime.isBefore(endTime)) {
+            throw new ValidationException("Start time must be before end time");
+        }
+        if (Duration.between(timer.startTime, endTime).toMinutes() < MINIMUM_MINUTES) {
+            throw new ValidationException("Minimum time entry duration is 15 minutes");
+        }
+        if (endTime.isAfter(timer.limit)) {
+            throw new ValidationException("Time entry overlaps with existing entries");
+        }
+        if (timer.otherMinutes + Duration.between(timer.startTime, endTime).toMinutes() > MAXIMUM_DAILY_MINUTES) {
+            throw new ValidationException("Daily total cannot exceed 24 hours");
+        }
+    }
+
+    private void write(Long userId, Timer timer, LocalTime endTime) {
+        transactionTemplate.executeWithoutResult(status -> timeEntryRepository.findById(timer.entryId)
+                .ifPresent(entry -> {
+                    DailyRollupService.Contribution before = DailyRollupService.Contribution.of(entry);
+                    entry.setEndTime(endTime);
+                    entry.calculateDurationMinutes();
+                    timeEntryRepository.flush();
+                    dailyRollupService.recordUpdated(before, entry);
+                    eventPublisher.publishEvent(TimeEntriesChangedEvent.of(userId, timer.entryDate));
+                }));
+    }
+}
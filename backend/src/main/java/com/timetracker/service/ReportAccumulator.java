@@ -0,0 +1,355 @@
+package com.timetracker.service;
+
+import com.timetracker.entity.Category;
+import com.timetracker.entity.DailyTaskTotal;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Single-pass accumulator for report figures.
+ * <p>
+ * Tasks and categories are mapped to dense indexes on first sight and all totals are kept in
+ * primitive arrays indexed by them, so feeding entries (or rollup rows) costs no boxing and no
+ * per-group lists. Task and category entities are only used for their id and, when the report is
+ * rendered, their display fields; they are never used as hash keys.
+ * <p>
+ * Not thread-safe; create one per report.
+ */
+public final class ReportAccumulator {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final IdIndex taskIndex = new IdIndex();
+    private Task[] tasks = new Task[INITIAL_CAPACITY];
+    private int[] taskCategory = new int[INITIAL_CAPACITY];
+    private int[] taskMinutes = new int[INITIAL_CAPACITY];
+    private int[] taskEntries = new int[INITIAL_CAPACITY];
+    private int[] taskLongest = new int[INITIAL_CAPACITY];
+
+    private final IdIndex categoryIndex = new IdIndex();
+    private Category[] categories = new Category[INITIAL_CAPACITY];
+    private int[] categoryMinutes = new int[INITIAL_CAPACITY];
+    private int[] categoryEntries = new int[INITIAL_CAPACITY];
+
+    // Minutes per day, offset from the first date seen (grown in both directions as needed)
+    private long firstEpochDay;
+    private int[] dayMinutes = new int[0];
+
+    private long totalMinutes;
+    private int totalEntries;
+    private int longestSession;
+    private int weekdayMinutes;
+    private int weekendMinutes;
+
+    /**
+     * Add a single time entry (task and category must be loaded)
+     */
+    public void add(TimeEntry entry) {
+        int minutes = entry.getDurationMinutes();
+        add(entry.getTask(), entry.getEntryDate(), minutes, 1, minutes);
+    }
+
+    /**
+     * Add a rollup row. Rollup rows carry no per-entry maximum, so they do not affect
+     * {@link #longestSession()}.
+     */
+    public void add(DailyTaskTotal total) {
+        add(total.getTask(), total.getEntryDate(), total.getTotalMinutes(), total.getEntryCount(), 0);
+    }
+
+    private void add(Task task, LocalDate date, int minutes, int entries, int longest) {
+        int t = taskIndex(task);
+        taskMinutes[t] += minutes;
+        taskEntries[t] += entries;
+        if (longest > taskLongest[t]) {
+            taskLongest[t] = longest;
+        }
+
+        int c = taskCategory[t];
+        categoryMinutes[c] += minutes;
+        categoryEntries[c] += entries;
+
+        int day = dayIndex(date); // may grow dayMinutes, so resolve before indexing
+        dayMinutes[day] += minutes;
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            weekendMinutes += minutes;
+        } else {
+            weekdayMinutes += minutes;
+        }
+
+        totalMinutes += minutes;
+        totalEntries += entries;
+        if (longest > longestSession) {
+            longestSession = longest;
+        }
+    }
+
+    // Totals
+
+    public boolean isEmpty() {
+        return totalEntries == 0;
+    }
+
+    /**
+     * @throws ArithmeticException if the total does not fit an int (about 4,000 years of minutes)
+     */
+    public int totalMinutes() {
+        return Math.toIntExact(totalMinutes);
+    }
+
+    public int totalEntries() {
+        return totalEntries;
+    }
+
+    public int longestSession() {
+        return longestSession;
+    }
+
+    public int weekdayMinutes() {
+        return weekdayMinutes;
+    }
+
+    public int weekendMinutes() {
+        return weekendMinutes;
+    }
+
+    // Days
+
+    public int daysTracked() {
+        int days = 0;
+        for (int minutes : dayMinutes) {
+            if (minutes > 0) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    public int minutesOn(LocalDate date) {
+        long offset = date.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset < dayMinutes.length ? dayMinutes[(int) offset] : 0;
+    }
+
+    /**
+     * Date with the most tracked minutes (earliest on ties), or null if nothing was tracked
+     */
+    public LocalDate mostProductiveDay() {
+        int best = -1;
+        for (int i = 0; i < dayMinutes.length; i++) {
+            if (dayMinutes[i] > 0 && (best < 0 || dayMinutes[i] > dayMinutes[best])) {
+                best = i;
+            }
+        }
+        return best < 0 ? null : LocalDate.ofEpochDay(firstEpochDay + best);
+    }
+
+    // Tasks, by dense index in [0, taskCount())
+
+    public int taskCount() {
+        return taskIndex.size();
+    }
+
+    public Task task(int index) {
+        return tasks[index];
+    }
+
+    public Category taskCategory(int index) {
+        return categories[taskCategory[index]];
+    }
+
+    public int taskMinutes(int index) {
+        return taskMinutes[index];
+    }
+
+    public int taskEntries(int index) {
+        return taskEntries[index];
+    }
+
+    public int taskLongest(int index) {
+        return taskLongest[index];
+    }
+
+    /**
+     * Index of the task with the most minutes (first seen on ties), or -1 if empty
+     */
+    public int topTask() {
+        int best = -1;
+        for (int i = 0; i < taskCount(); i++) {
+            if (best < 0 || taskMinutes[i] > taskMinutes[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Task indexes ordered by minutes, highest first
+     */
+    public int[] tasksByMinutes() {
+        return orderByMinutes(taskMinutes, taskCount());
+    }
+
+    // Categories, by dense index in [0, categoryCount())
+
+    public int categoryCount() {
+        return categoryIndex.size();
+    }
+
+    public Category category(int index) {
+        return categories[index];
+    }
+
+    public int categoryMinutes(int index) {
+        return categoryMinutes[index];
+    }
+
+    public int categoryEntries(int index) {
+        return categoryEntries[index];
+    }
+
+    /**
+     * Category indexes ordered by minutes, highest first
+     */
+    public int[] categoriesByMinutes() {
+        return orderByMinutes(categoryMinutes, categoryCount());
+    }
+
+    // Internals
+
+    private int taskIndex(Task task) {
+        int known = taskIndex.size();
+        int t = taskIndex.indexOf(task.getId());
+        if (t < known) {
+            return t;
+        }
+        if (t == tasks.length) {
+            int capacity = tasks.length * 2;
+            tasks = Arrays.copyOf(tasks, capacity);
+            taskCategory = Arrays.copyOf(taskCategory, capacity);
+            taskMinutes = Arrays.copyOf(taskMinutes, capacity);
+            taskEntries = Arrays.copyOf(taskEntries, capacity);
+            taskLongest = Arrays.copyOf(taskLongest, capacity);
+        }
+        tasks[t] = task;
+        taskCategory[t] = categoryIndex(task.getCategory());
+        return t;
+    }
+
+    private int categoryIndex(Category category) {
+        int known = categoryIndex.size();
+        int c = categoryIndex.indexOf(category.getId());
+        if (c < known) {
+            return c;
+        }
+        if (c == categories.length) {
+            int capacity = categories.length * 2;
+            categories = Arrays.copyOf(categories, capacity);
+            categoryMinutes = Arrays.copyOf(categoryMinutes, capacity);
+            categoryEntries = Arrays.copyOf(categoryEntries, capacity);
+        }
+        categories[c] = category;
+        return c;
+    }
+
+    private int dayIndex(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (dayMinutes.length == 0) {
+            firstEpochDay = epochDay;
+            dayMinutes = new int[INITIAL_CAPACITY];
+        }
+        if (epochDay < firstEpochDay) {
+            int shift = (int) (firstEpochDay - epochDay);
+            int[] grown = new int[dayMinutes.length + shift];
+            System.arraycopy(dayMinutes, 0, grown, shift, dayMinutes.length);
+            dayMinutes = grown;
+            firstEpochDay = epochDay;
+        }
+        int offset = (int) (epochDay - firstEpochDay);
+        if (offset >= dayMinutes.length) {
+            dayMinutes = Arrays.copyOf(dayMinutes, Math.max(offset + 1, dayMinutes.length * 2));
+        }
+        return offset;
+    }
+
+    private static int[] orderByMinutes(int[] minutes, int count) {
+        // Sort (minutes, index) pairs packed into longs: descending minutes, then ascending index
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            packed[i] = ((long) (Integer.MAX_VALUE - minutes[i]) << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    /**
+     * Open-addressing map from entity id to dense index, assigned in insertion order
+     */
+    private static final class IdIndex {
+
+        private long[] keys = new long[INITIAL_CAPACITY * 2];
+        private int[] values = new int[INITIAL_CAPACITY * 2];
+        private boolean[] used = new boolean[INITIAL_CAPACITY * 2];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Index for the id, assigning the next free index if the id is new
+         */
+        int indexOf(long id) {
+            int mask = keys.length - 1;
+            int slot = mix(id) & mask;
+            while (used[slot]) {
+                if (keys[slot] == id) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = id;
+            values[slot] = size;
+            size++;
+            if (size * 2 > keys.length) {
+                rehash();
+            }
+            return size - 1;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = mix(oldKeys[i]) & mask;
+                    while (used[slot]) {
+                        slot = (slot + 1) & mask;
+                    }
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int mix(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.timetracker.service;
+
+import com.timetracker.dto.response.ReportJobResponse;
+import com.timetracker.entity.User;
+import com.timetracker.exception.ReportJobRejectedException;
+import com.timetracker.exception.ResourceNotFoundException;
+import com.timetracker.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs long-range reports in the background.
+ * <p>
+ * Jobs execute on a small bounded pool ({@code app.reports.jobs.max-concurrency}) so that at most that
+ * many database connections are ever held by report computations; further jobs wait in a bounded queue
+ * and are rejected once it is full. Finished jobs and their results are kept for
+ * {@code app.reports.jobs.result-ttl} and then discarded.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    public enum ReportType {
+        ENHANCED_STATISTICS,
+        PRODUCTIVITY_INSIGHTS
+    }
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Long userId;
+        private final ReportType type;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Instant submittedAt = Instant.now();
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant completedAt;
+        private volatile Map<String, Object> result;
+        private volatile String error;
+
+        private Job(Long userId, ReportType type, LocalDate startDate, LocalDate endDate) {
+            this.userId = userId;
+            this.type = type;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+    }
+
+    private final CachingReportService cachingReportService;
+    private final UserService userService;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final long asyncThresholdDays;
+    private final int maxRangeDays;
+    private final Duration resultTtl;
+
+    public ReportJobService(CachingReportService cachingReportService,
+                            UserService userService,
+                            @Value("${app.reports.jobs.max-concurrency:2}") int maxConcurrency,
+                            @Value("${app.reports.jobs.queue-capacity:50}") int queueCapacity,
+                            @Value("${app.reports.jobs.async-threshold-days:92}") long asyncThresholdDays,
+                            @Value("${app.reports.jobs.result-ttl:30m}") Duration resultTtl,
+                            @Value("${app.reports.jobs.max-range-days:0}") int maxRangeDays) {
+        this.cachingReportService = cachingReportService;
+        this.userService = userService;
+        this.asyncThresholdDays = asyncThresholdDays;
+        this.resultTtl = resultTtl;
+        this.maxRangeDays = maxRangeDays;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Whether a report over this range should be run as a job instead of on the request thread
+     */
+    public boolean shouldRunAsync(LocalDate startDate, LocalDate endDate) {
+        return ChronoUnit.DAYS.between(startDate, endDate) + 1 > asyncThresholdDays;
+    }
+
+    /**
+     * Queue a report for the current user
+     */
+    public ReportJobResponse submit(ReportType type, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        User user = userService.getCurrentUser();
+        Job job = new Job(user.getId(), type, startDate, endDate);
+        jobs.put(job.id, job);
+
+        try {
+            executor.execute(() -> run(job, user));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new ReportJobRejectedException(executor.getQueue().size());
+        }
+
+        log.info("Queued {} report job {} for {} to {}", type, job.id, startDate, endDate);
+        return toResponse(job);
+    }
+
+    /**
+     * Status of one of the current user's jobs
+     */
+    public ReportJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /**
+     * Result of one of the current user's jobs, or null while it has not completed
+     */
+    public Map<String, Object> getResult(String jobId) {
+        return findJob(jobId).result;
+    }
+
+    /**
+     * Drop finished jobs whose retention period has passed
+     */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.cleanup-interval:60000}")
+    public void removeExpiredJobs() {
+        Instant now = Instant.now();
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.plus(resultTtl).isBefore(now));
+        int removed = before - jobs.size();
+        if (removed > 0) {
+            log.debug("Removed {} expired report jobs", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Private helper methods
+
+    private void run(Job job, User user) {
+        job.startedAt = Instant.now();
+        job.status = JobStatus.RUNNING;
+        try {
+            job.result = switch (job.type) {
+                case ENHANCED_STATISTICS -> cachingReportService.getEnhancedStatistics(user, job.startDate, job.endDate);
+                case PRODUCTIVITY_INSIGHTS -> cachingReportService.getProductivityInsights(user, job.startDate, job.endDate);
+            };
+            job.completedAt = Instant.now();
+            job.status = JobStatus.COMPLETED;
+            log.info("Report job {} completed in {} ms", job.id,
+                    Duration.between(job.startedAt, job.completedAt).toMillis());
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.completedAt = Instant.now();
+            job.status = JobStatus.FAILED;
+            log.error("Report job {} failed: {}", job.id, e.getMessage(), e);
+        }
+    }
+
+    private Job findJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userService.getCurrentUser().getId())) {
+            throw new ResourceNotFoundException("Report job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date must not be before start date");
+        }
+        // Jobs exist for long ranges; app.reports.max-range-days only bounds the synchronous daily-range endpoint
+        if (maxRangeDays > 0 && ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxRangeDays) {
+            throw new ValidationException("Date range cannot exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private ReportJobResponse toResponse(Job job) {
+        Instant completedAt = job.completedAt;
+        return ReportJobResponse.builder()
+                .id(job.id)
+                .type(job.type)
+                .status(job.status)
+                .startDate(job.startDate)
+                .endDate(job.endDate)
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .completedAt(completedAt)
+                .expiresAt(completedAt != null ? completedAt.plus(resultTtl) : null)
+                .error(job.error)
+                .resultUrl(job.status == JobStatus.COMPLETED ? "/api/reports/jobs/" + job.id + "/result" : null)
+                .build();
+    }
+}
@@ -1,23 +1,40 @@
 package com.timetracker.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.timetracker.dto.mapper.TimeEntryMapper;
 import com.timetracker.dto.response.DailySummaryResponse;
+import com.timetracker.dto.response.HeatmapResponse;
 import com.timetracker.dto.response.TimeEntryResponse;
 import com.timetracker.dto.response.WeeklySummaryResponse;
 import com.timetracker.entity.Category;
+import com.timetracker.entity.DailyTaskTotal;
 import com.timetracker.entity.Task;
 import com.timetracker.entity.TimeEntry;
 import com.timetracker.entity.User;
+import com.timetracker.exception.ValidationException;
+import com.timetracker.repository.DailyTaskTotalRepository;
 import com.timetracker.repository.TimeEntryRepository;
+import com.timetracker.repository.projection.DailyMinutes;
+import com.timetracker.repository.projection.DailySummaryRow;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,63 +43,48 @@ import java.util.stream.Collectors;
 public class ReportService {
 
     private final TimeEntryRepository timeEntryRepository;
+    private final DailyTaskTotalRepository dailyTaskTotalRepository;
     private final TimeEntryMapper timeEntryMapper;
     private final UserService userService;
     private final ValidationService validationService;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.reports.max-range-days:366}")
+    private int maxRangeDays;
 
     /**
      * Generate daily summary for a specific date
      */
     public DailySummaryResponse getDailySummary(LocalDate date) {
-        User user = userService.getCurrentUser();
-        List<TimeEntry> timeEntries = timeEntryRepository.findByUserAndEntryDateOrderByStartTimeAsc(user, date);
-
-        DailySummaryResponse summary = new DailySummaryResponse();
-        summary.setDate(date);
-        summary.setTimeEntries(timeEntryMapper.toResponseList(timeEntries));
-
-        if (timeEntries.isEmpty()) {
-            summary.setTotalMinutes(0);
-            summary.setTotalTimeFormatted("0m");
-            summary.setTotalEntries(0);
-            summary.setCategoryBreakdowns(new ArrayList<>());
-            summary.setTaskBreakdowns(new ArrayList<>());
-            summary.setWarnings(new ArrayList<>());
-            return summary;
-        }
-
-        // Calculate totals
-        int totalMinutes = timeEntries.stream()
-                .mapToInt(TimeEntry::getDurationMinutes)
-                .sum();
-
-        summary.setTotalMinutes(totalMinutes);
-        summary.setTotalTimeFormatted(formatMinutes(totalMinutes));
-        summary.setTotalEntries(timeEntries.size());
-
-        // Generate category breakdowns
-        summary.setCategoryBreakdowns(generateCategoryBreakdowns(timeEntries));
-
-        // Generate task breakdowns
-        summary.setTaskBreakdowns(generateTaskBreakdowns(timeEntries));
-
-        // Generate warnings using validation service
-        var validation = validationService.validateDayEntries(user, date);
-        summary.setWarnings(validation.getWarnings());
+        return getDailySummary(userService.getCurrentUser(), date);
+    }
 
-        return summary;
+    /**
+     * Generate daily summary for a specific date, for the given user
+     */
+    public DailySummaryResponse getDailySummary(User user, LocalDate date) {
+        List<TimeEntry> timeEntries = timeEntryRepository.findWithTaskByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
+                user, date, date);
+        return buildDailySummary(date, timeEntries);
     }
 
     /**
      * Generate weekly summary
      */
     public WeeklySummaryResponse getWeeklySummary(LocalDate date) {
+        return getWeeklySummary(userService.getCurrentUser(), date);
+    }
+
+    /**
+     * Generate weekly summary, for the given user
+     */
+    public WeeklySummaryResponse getWeeklySummary(User user, LocalDate date) {
         // Get the start of the week (Monday)
         LocalDate weekStart = date.with(DayOfWeek.MONDAY);
         LocalDate weekEnd = weekStart.plusDays(6);
 
-        User user = userService.getCurrentUser();
-        List<TimeEntry> weekEntries = timeEntryRepository.findByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
+        List<TimeEntry> weekEntries = timeEntryRepository.findWithTaskByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
                 user, weekStart, weekEnd);
 
         WeeklySummaryResponse summary = new WeeklySummaryResponse();
@@ -100,45 +102,231 @@ public class ReportService {
             return summary;
         }
 
-        // Calculate weekly totals
-        int totalMinutes = weekEntries.stream()
-                .mapToInt(TimeEntry::getDurationMinutes)
-                .sum();
+        // Partition the week by day and accumulate weekly totals in the same pass
+        ReportAccumulator weekTotals = new ReportAccumulator();
+        Map<LocalDate, List<TimeEntry>> entriesByDate = new HashMap<>();
+        for (TimeEntry entry : weekEntries) {
+            weekTotals.add(entry);
+            entriesByDate.computeIfAbsent(entry.getEntryDate(), d -> new ArrayList<>()).add(entry);
+        }
 
+        int totalMinutes = weekTotals.totalMinutes();
         summary.setTotalMinutes(totalMinutes);
         summary.setTotalTimeFormatted(formatMinutes(totalMinutes));
-        summary.setTotalEntries(weekEntries.size());
+        summary.setTotalEntries(weekTotals.totalEntries());
 
         // Calculate average daily hours
         double averageDailyHours = totalMinutes / 60.0 / 7.0;
         summary.setAverageDailyHours(Math.round(averageDailyHours * 100.0) / 100.0);
 
-        // Generate daily summaries for each day of the week
+        // Generate daily summaries for each day of the week from the already loaded entries
         List<DailySummaryResponse> dailySummaries = new ArrayList<>();
         for (int i = 0; i < 7; i++) {
             LocalDate currentDate = weekStart.plusDays(i);
-            dailySummaries.add(getDailySummary(currentDate));
+            dailySummaries.add(buildDailySummary(currentDate, entriesByDate.getOrDefault(currentDate, List.of())));
         }
         summary.setDailySummaries(dailySummaries);
 
         // Generate weekly category and task breakdowns
-        summary.setCategoryBreakdowns(generateCategoryBreakdowns(weekEntries));
-        summary.setTaskBreakdowns(generateTaskBreakdowns(weekEntries));
+        summary.setCategoryBreakdowns(generateCategoryBreakdowns(weekTotals));
+        summary.setTaskBreakdowns(generateTaskBreakdowns(weekTotals));
 
         return summary;
     }
 
+    /**
+     * Generate daily summaries for every day in a date range, as a JSON object keyed by date.
+     * <p>
+     * Nothing is read until the value is serialized, in its own read-only transaction, so it can be
+     * written from the thread that streams the response. The days come off the grouped daily totals
+     * cursor; a tracked day takes its entries from the entry cursor, ordered the same way, and only that
+     * day is held in memory while its summary is written.
+     */
+    public JsonSerializable getDailySummariesForRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date must not be before start date");
+        }
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days > maxRangeDays) {
+            throw new ValidationException("Date range cannot exceed " + maxRangeDays + " days");
+        }
+
+        User user = userService.getCurrentUser();
+        return new JsonSerializable.Base() {
+            @Override
+            public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setReadOnly(true);
+
+                generator.writeStartObject();
+                try {
+                    transaction.executeWithoutResult(status -> {
+                        try {
+                            writeDailySummaries(generator, provider, user, startDate, endDate);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                generator.writeEndObject();
+            }
+
+            @Override
+            public void serializeWithType(JsonGenerator generator, SerializerProvider provider,
+                                          TypeSerializer typeSerializer) throws IOException {
+                serialize(generator, provider);
+            }
+        };
+    }
+
     /**
      * Get time tracking statistics for a date range
      */
     public Map<String, Object> getStatistics(LocalDate startDate, LocalDate endDate) {
-        User user = userService.getCurrentUser();
-        List<TimeEntry> entries = timeEntryRepository.findByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
-                user, startDate, endDate);
+        return getStatistics(userService.getCurrentUser(), startDate, endDate);
+    }
+
+    /**
+     * Get time tracking statistics for a date range, for the given user
+     */
+    public Map<String, Object> getStatistics(User user, LocalDate startDate, LocalDate endDate) {
+        return buildStatistics(accumulateTotals(user, startDate, endDate));
+    }
+
+    /**
+     * Get productivity insights for a user
+     */
+    public Map<String, Object> getProductivityInsights(LocalDate startDate, LocalDate endDate) {
+        return getProductivityInsights(userService.getCurrentUser(), startDate, endDate);
+    }
+
+    /**
+     * Get productivity insights for the given user
+     */
+    public Map<String, Object> getProductivityInsights(User user, LocalDate startDate, LocalDate endDate) {
+        ReportAccumulator accumulator = accumulateTotals(user, startDate, endDate);
+
+        Map<String, Object> insights = new HashMap<>();
+
+        if (accumulator.isEmpty()) {
+            insights.put("message", "No time entries found for the specified period");
+            return insights;
+        }
+
+        // Most productive day
+        LocalDate mostProductiveDay = accumulator.mostProductiveDay();
+        if (mostProductiveDay != null) {
+            int minutes = accumulator.minutesOn(mostProductiveDay);
+            insights.put("mostProductiveDay", Map.of(
+                    "date", mostProductiveDay,
+                    "minutes", minutes,
+                    "timeFormatted", formatMinutes(minutes)
+            ));
+        }
+
+        // Average session length by task title (total minutes over number of entries)
+        Map<String, int[]> sessionsByTask = new HashMap<>();
+        for (int t = 0; t < accumulator.taskCount(); t++) {
+            int[] sums = sessionsByTask.computeIfAbsent(accumulator.task(t).getTitle(), title -> new int[2]);
+            sums[0] += accumulator.taskMinutes(t);
+            sums[1] += accumulator.taskEntries(t);
+        }
+
+        Map<String, String> averageSessionByTask = new HashMap<>();
+        sessionsByTask.forEach((title, sums) -> averageSessionByTask.put(title, formatMinutes(sums[0] / sums[1])));
+        insights.put("averageSessionByTask", averageSessionByTask);
+
+        // Time distribution analysis; categories sharing a title are reported together
+        Map<String, Integer> minutesByCategory = new HashMap<>();
+        for (int c = 0; c < accumulator.categoryCount(); c++) {
+            minutesByCategory.merge(accumulator.category(c).getTitle(), accumulator.categoryMinutes(c), Integer::sum);
+        }
+
+        double totalMinutes = accumulator.totalMinutes();
+        Map<String, String> categoryPercentages = new HashMap<>();
+        minutesByCategory.forEach((title, minutes) ->
+                categoryPercentages.put(title, String.format("%.1f%%", (minutes / totalMinutes) * 100)));
+
+        insights.put("categoryDistribution", categoryPercentages);
+
+        return insights;
+    }
 
+    /**
+     * Get minutes tracked per day of a year, optionally limited to one category
+     */
+    public HeatmapResponse getHeatmap(int year, Long categoryId) {
+        return getHeatmap(userService.getCurrentUser(), year, categoryId);
+    }
+
+    /**
+     * Get minutes tracked per day of a year, optionally limited to one category, for the given user
+     */
+    public HeatmapResponse getHeatmap(User user, int year, Long categoryId) {
+        if (year < 1970 || year > 9999) {
+            throw new ValidationException("Year must be between 1970 and 9999");
+        }
+
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+        List<DailyMinutes> dailyMinutes = categoryId == null
+                ? dailyTaskTotalRepository.sumMinutesByDate(user, startDate, endDate)
+                : dailyTaskTotalRepository.sumMinutesByDateForCategory(user, categoryId, startDate, endDate);
+
+        int[] minutes = new int[startDate.lengthOfYear()];
+        int totalMinutes = 0;
+        int daysTracked = 0;
+        int maxMinutes = 0;
+        for (DailyMinutes day : dailyMinutes) {
+            int value = day.minutes().intValue();
+            minutes[day.entryDate().getDayOfYear() - 1] = value;
+            totalMinutes += value;
+            if (value > 0) {
+                daysTracked++;
+            }
+            maxMinutes = Math.max(maxMinutes, value);
+        }
+
+        HeatmapResponse heatmap = new HeatmapResponse();
+        heatmap.setYear(year);
+        heatmap.setCategoryId(categoryId);
+        heatmap.setStartDate(startDate);
+        heatmap.setDays(minutes.length);
+        heatmap.setMinutes(minutes);
+        heatmap.setTotalMinutes(totalMinutes);
+        heatmap.setDaysTracked(daysTracked);
+        heatmap.setMaxMinutes(maxMinutes);
+        return heatmap;
+    }
+
+    // Private helper methods
+
+    /**
+     * Fold the user's rollup rows for the range into an accumulator while reading them from a cursor.
+     * Each row is detached once counted, so memory stays bounded by the number of tasks (plus one
+     * counter per day) however long the range is.
+     */
+    private ReportAccumulator accumulateTotals(User user, LocalDate startDate, LocalDate endDate) {
+        ReportAccumulator accumulator = new ReportAccumulator();
+        try (Stream<DailyTaskTotal> totals = dailyTaskTotalRepository.streamByUserAndEntryDateBetween(
+                user, startDate, endDate)) {
+            totals.forEach(total -> {
+                accumulator.add(total);
+                entityManager.detach(total);
+            });
+        }
+        return accumulator;
+    }
+
+    /**
+     * Basic statistics (totals, average entry, most used task, days tracked) from an accumulator
+     */
+    private Map<String, Object> buildStatistics(ReportAccumulator accumulator) {
         Map<String, Object> stats = new HashMap<>();
 
-        if (entries.isEmpty()) {
+        if (accumulator.isEmpty()) {
             stats.put("totalMinutes", 0);
             stats.put("totalEntries", 0);
             stats.put("averageEntryLength", 0);
@@ -148,42 +336,33 @@ public class ReportService {
         }
 
         // Basic statistics
-        int totalMinutes = entries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
+        int totalMinutes = accumulator.totalMinutes();
+        int totalEntries = accumulator.totalEntries();
         stats.put("totalMinutes", totalMinutes);
         stats.put("totalTimeFormatted", formatMinutes(totalMinutes));
-        stats.put("totalEntries", entries.size());
+        stats.put("totalEntries", totalEntries);
 
         // Average entry length
-        double averageLength = (double) totalMinutes / entries.size();
+        double averageLength = (double) totalMinutes / totalEntries;
         stats.put("averageEntryLength", Math.round(averageLength));
         stats.put("averageEntryLengthFormatted", formatMinutes((int) averageLength));
 
         // Most used task
-        Map<Task, Integer> taskMinutes = entries.stream()
-                .collect(Collectors.groupingBy(
-                        TimeEntry::getTask,
-                        Collectors.summingInt(TimeEntry::getDurationMinutes)
-                ));
-
-        Optional<Map.Entry<Task, Integer>> mostUsedTask = taskMinutes.entrySet().stream()
-                .max(Map.Entry.comparingByValue());
-
-        if (mostUsedTask.isPresent()) {
-            Task task = mostUsedTask.get().getKey();
+        int mostUsedTask = accumulator.topTask();
+        if (mostUsedTask >= 0) {
+            Task task = accumulator.task(mostUsedTask);
+            int minutes = accumulator.taskMinutes(mostUsedTask);
             stats.put("mostUsedTask", Map.of(
                     "id", task.getId(),
                     "title", task.getTitle(),
-                    "categoryTitle", task.getCategory().getTitle(),
-                    "minutes", mostUsedTask.get().getValue(),
-                    "timeFormatted", formatMinutes(mostUsedTask.get().getValue())
+                    "categoryTitle", accumulator.taskCategory(mostUsedTask).getTitle(),
+                    "minutes", minutes,
+                    "timeFormatted", formatMinutes(minutes)
             ));
         }
 
         // Days tracked
-        long daysTracked = entries.stream()
-                .map(TimeEntry::getEntryDate)
-                .distinct()
-                .count();
+        long daysTracked = accumulator.daysTracked();
         stats.put("daysTracked", daysTracked);
 
         // Average daily hours
@@ -196,209 +375,188 @@ public class ReportService {
     }
 
     /**
-     * Get productivity insights for a user
+     * Build a daily summary from a day's entries, already ordered by start time
      */
-    public Map<String, Object> getProductivityInsights(LocalDate startDate, LocalDate endDate) {
-        User user = userService.getCurrentUser();
-        List<TimeEntry> entries = timeEntryRepository.findByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
-                user, startDate, endDate);
-
-        Map<String, Object> insights = new HashMap<>();
+    private DailySummaryResponse buildDailySummary(LocalDate date, List<TimeEntry> timeEntries) {
+        DailySummaryResponse summary = new DailySummaryResponse();
+        summary.setDate(date);
+        summary.setTimeEntries(timeEntryMapper.toResponseList(timeEntries));
 
-        if (entries.isEmpty()) {
-            insights.put("message", "No time entries found for the specified period");
-            return insights;
+        if (timeEntries.isEmpty()) {
+            summary.setTotalMinutes(0);
+            summary.setTotalTimeFormatted("0m");
+            summary.setTotalEntries(0);
+            summary.setCategoryBreakdowns(new ArrayList<>());
+            summary.setTaskBreakdowns(new ArrayList<>());
+            summary.setWarnings(new ArrayList<>());
+            return summary;
         }
 
-        // Group by date for daily analysis
-        Map<LocalDate, List<TimeEntry>> entriesByDate = entries.stream()
-                .collect(Collectors.groupingBy(TimeEntry::getEntryDate));
+        ReportAccumulator accumulator = new ReportAccumulator();
+        timeEntries.forEach(accumulator::add);
 
-        // Most productive day
-        Optional<Map.Entry<LocalDate, List<TimeEntry>>> mostProductiveDay = entriesByDate.entrySet().stream()
-                .max(Comparator.comparing(entry ->
-                        entry.getValue().stream().mapToInt(TimeEntry::getDurationMinutes).sum()));
-
-        if (mostProductiveDay.isPresent()) {
-            LocalDate date = mostProductiveDay.get().getKey();
-            int minutes = mostProductiveDay.get().getValue().stream()
-                    .mapToInt(TimeEntry::getDurationMinutes).sum();
-            insights.put("mostProductiveDay", Map.of(
-                    "date", date,
-                    "minutes", minutes,
-                    "timeFormatted", formatMinutes(minutes)
-            ));
-        }
+        int totalMinutes = accumulator.totalMinutes();
+        summary.setTotalMinutes(totalMinutes);
+        summary.setTotalTimeFormatted(formatMinutes(totalMinutes));
+        summary.setTotalEntries(accumulator.totalEntries());
 
-        // Average session length by task
-        Map<String, Double> avgSessionByTask = entries.stream()
-                .collect(Collectors.groupingBy(
-                        entry -> entry.getTask().getTitle(),
-                        Collectors.averagingInt(TimeEntry::getDurationMinutes)
-                ));
-
-        insights.put("averageSessionByTask", avgSessionByTask.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> formatMinutes(entry.getValue().intValue())
-                )));
-
-        // Time distribution analysis
-        double totalHours = entries.stream().mapToInt(TimeEntry::getDurationMinutes).sum() / 60.0;
-        Map<String, Double> categoryDistribution = entries.stream()
-                .collect(Collectors.groupingBy(
-                        entry -> entry.getTask().getCategory().getTitle(),
-                        Collectors.summingDouble(entry -> entry.getDurationMinutes() / 60.0)
-                ));
-
-        Map<String, String> categoryPercentages = categoryDistribution.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> String.format("%.1f%%", (entry.getValue() / totalHours) * 100)
-                ));
+        // Generate category and task breakdowns
+        summary.setCategoryBreakdowns(generateCategoryBreakdowns(accumulator));
+        summary.setTaskBreakdowns(generateTaskBreakdowns(accumulator));
 
-        insights.put("categoryDistribution", categoryPercentages);
+        // Generate warnings using validation service
+        var validation = validationService.validateDayEntries(date, timeEntries);
+        summary.setWarnings(validation.getWarnings());
 
-        return insights;
+        return summary;
     }
 
-    // Private helper methods
+    /**
+     * Write one field per day of the range, walking the tracked days and their entries in step
+     */
+    private void writeDailySummaries(JsonGenerator generator, SerializerProvider provider, User user,
+                                     LocalDate startDate, LocalDate endDate) throws IOException {
+        try (Stream<DailySummaryRow> days = dailyTaskTotalRepository.streamDailySummaries(user.getId(), startDate, endDate);
+             Stream<TimeEntry> timeEntries = timeEntryRepository.streamByUserAndEntryDateBetween(user, startDate, endDate)) {
+            Iterator<DailySummaryRow> dayIterator = days.iterator();
+            Iterator<TimeEntry> entryIterator = timeEntries.iterator();
+            DailySummaryRow day = dayIterator.hasNext() ? dayIterator.next() : null;
+            TimeEntry entry = null;
+
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                List<TimeEntry> dayEntries = new ArrayList<>();
+                if (day != null && day.getEntryDate().equals(date)) {
+                    if (entry == null && entryIterator.hasNext()) {
+                        entry = entryIterator.next();
+                    }
+                    // Entries are ordered by date, so the ones before this day belong to no tracked day
+                    while (entry != null && !entry.getEntryDate().isAfter(date)) {
+                        if (entry.getEntryDate().equals(date)) {
+                            dayEntries.add(entry);
+                        }
+                        entry = entryIterator.hasNext() ? entryIterator.next() : null;
+                    }
+                    day = dayIterator.hasNext() ? dayIterator.next() : null;
+                }
+
+                generator.writeFieldName(date.toString());
+                provider.defaultSerializeValue(buildDailySummary(date, dayEntries), generator);
+                dayEntries.forEach(entityManager::detach);
+            }
+        }
+    }
 
-    private List<DailySummaryResponse.CategoryTimeBreakdown> generateCategoryBreakdowns(List<TimeEntry> timeEntries) {
-        Map<Category, List<TimeEntry>> categorizedEntries = timeEntries.stream()
-                .collect(Collectors.groupingBy(entry -> entry.getTask().getCategory()));
-
-        return categorizedEntries.entrySet().stream()
-                .map(entry -> {
-                    Category category = entry.getKey();
-                    List<TimeEntry> entries = entry.getValue();
-                    int totalMinutes = entries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
-
-                    DailySummaryResponse.CategoryTimeBreakdown breakdown =
-                            new DailySummaryResponse.CategoryTimeBreakdown();
-                    breakdown.setCategoryId(category.getId());
-                    breakdown.setCategoryTitle(category.getTitle());
-                    breakdown.setTotalMinutes(totalMinutes);
-                    breakdown.setTimeFormatted(formatMinutes(totalMinutes));
-                    breakdown.setEntryCount(entries.size());
-
-                    return breakdown;
-                })
-                .sorted(Comparator.comparing(DailySummaryResponse.CategoryTimeBreakdown::getTotalMinutes).reversed())
-                .collect(Collectors.toList());
+    private List<DailySummaryResponse.CategoryTimeBreakdown> generateCategoryBreakdowns(ReportAccumulator accumulator) {
+        List<DailySummaryResponse.CategoryTimeBreakdown> breakdowns = new ArrayList<>(accumulator.categoryCount());
+        for (int c : accumulator.categoriesByMinutes()) {
+            Category category = accumulator.category(c);
+            int totalMinutes = accumulator.categoryMinutes(c);
+
+            DailySummaryResponse.CategoryTimeBreakdown breakdown =
+                    new DailySummaryResponse.CategoryTimeBreakdown();
+            breakdown.setCategoryId(category.getId());
+            breakdown.setCategoryTitle(category.getTitle());
+            breakdown.setTotalMinutes(totalMinutes);
+            breakdown.setTimeFormatted(formatMinutes(totalMinutes));
+            breakdown.setEntryCount(accumulator.categoryEntries(c));
+
+            breakdowns.add(breakdown);
+        }
+        return breakdowns;
     }
 
-    private List<DailySummaryResponse.TaskTimeBreakdown> generateTaskBreakdowns(List<TimeEntry> timeEntries) {
-        Map<Task, List<TimeEntry>> taskEntries = timeEntries.stream()
-                .collect(Collectors.groupingBy(TimeEntry::getTask));
-
-        return taskEntries.entrySet().stream()
-                .map(entry -> {
-                    Task task = entry.getKey();
-                    List<TimeEntry> entries = entry.getValue();
-                    int totalMinutes = entries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
-
-                    DailySummaryResponse.TaskTimeBreakdown breakdown =
-                            new DailySummaryResponse.TaskTimeBreakdown();
-                    breakdown.setTaskId(task.getId());
-                    breakdown.setTaskTitle(task.getTitle());
-                    breakdown.setTaskColor(task.getColor());
-                    breakdown.setTaskIcon(task.getIcon());
-                    breakdown.setCategoryTitle(task.getCategory().getTitle());
-                    breakdown.setTotalMinutes(totalMinutes);
-                    breakdown.setTimeFormatted(formatMinutes(totalMinutes));
-                    breakdown.setEntryCount(entries.size());
-
-                    return breakdown;
-                })
-                .sorted(Comparator.comparing(DailySummaryResponse.TaskTimeBreakdown::getTotalMinutes).reversed())
-                .collect(Collectors.toList());
+    private List<DailySummaryResponse.TaskTimeBreakdown> generateTaskBreakdowns(ReportAccumulator accumulator) {
+        List<DailySummaryResponse.TaskTimeBreakdown> breakdowns = new ArrayList<>(accumulator.taskCount());
+        for (int t : accumulator.tasksByMinutes()) {
+            Task task = accumulator.task(t);
+            int totalMinutes = accumulator.taskMinutes(t);
+
+            DailySummaryResponse.TaskTimeBreakdown breakdown =
+                    new DailySummaryResponse.TaskTimeBreakdown();
+            breakdown.setTaskId(task.getId());
+            breakdown.setTaskTitle(task.getTitle());
+            breakdown.setTaskColor(task.getColor());
+            breakdown.setTaskIcon(task.getIcon());
+            breakdown.setCategoryTitle(accumulator.taskCategory(t).getTitle());
+            breakdown.setTotalMinutes(totalMinutes);
+            breakdown.setTimeFormatted(formatMinutes(totalMinutes));
+            breakdown.setEntryCount(accumulator.taskEntries(t));
+
+            breakdowns.add(breakdown);
+        }
+        return breakdowns;
     }
 
     /**
      * Get enhanced statistics with additional monthly insights
      */
     public Map<String, Object> getEnhancedStatistics(LocalDate startDate, LocalDate endDate) {
-        User user = userService.getCurrentUser();
-        List<TimeEntry> entries = timeEntryRepository.findByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
-                user, startDate, endDate);
+        return getEnhancedStatistics(userService.getCurrentUser(), startDate, endDate);
+    }
 
-        Map<String, Object> stats = getStatistics(startDate, endDate);
+    /**
+     * Get enhanced statistics with additional monthly insights, for the given user
+     */
+    public Map<String, Object> getEnhancedStatistics(User user, LocalDate startDate, LocalDate endDate) {
+        // Entries rather than rollup rows: the longest session needs per-entry durations
+        ReportAccumulator accumulator = new ReportAccumulator();
+        try (Stream<TimeEntry> entries = timeEntryRepository.streamByUserAndEntryDateBetween(user, startDate, endDate)) {
+            entries.forEach(entry -> {
+                accumulator.add(entry);
+                entityManager.detach(entry);
+            });
+        }
 
-        if (entries.isEmpty()) {
+        Map<String, Object> stats = buildStatistics(accumulator);
+
+        if (accumulator.isEmpty()) {
             return stats;
         }
 
         // Add category breakdown with enhanced info
-        List<Map<String, Object>> categoryBreakdown = entries.stream()
-                .collect(Collectors.groupingBy(entry -> entry.getTask().getCategory()))
-                .entrySet().stream()
-                .map(entry -> {
-                    Category category = entry.getKey();
-                    List<TimeEntry> categoryEntries = entry.getValue();
-                    int totalMinutes = categoryEntries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
-
-                    Map<String, Object> categoryData = new HashMap<>();
-                    categoryData.put("categoryId", category.getId());
-                    categoryData.put("categoryTitle", category.getTitle());
-                    categoryData.put("totalMinutes", totalMinutes);
-                    categoryData.put("timeFormatted", formatMinutes(totalMinutes));
-                    categoryData.put("entryCount", categoryEntries.size());
-
-                    return categoryData;
-                })
-                .sorted((a, b) -> Integer.compare((Integer) b.get("totalMinutes"), (Integer) a.get("totalMinutes")))
-                .collect(Collectors.toList());
+        List<Map<String, Object>> categoryBreakdown = new ArrayList<>(accumulator.categoryCount());
+        for (int c : accumulator.categoriesByMinutes()) {
+            int totalMinutes = accumulator.categoryMinutes(c);
+
+            Map<String, Object> categoryData = new HashMap<>();
+            categoryData.put("categoryId", accumulator.category(c).getId());
+            categoryData.put("categoryTitle", accumulator.category(c).getTitle());
+            categoryData.put("totalMinutes", totalMinutes);
+            categoryData.put("timeFormatted", formatMinutes(totalMinutes));
+            categoryData.put("entryCount", accumulator.categoryEntries(c));
+
+            categoryBreakdown.add(categoryData);
+        }
 
         stats.put("categoryBreakdown", categoryBreakdown);
 
         // Add task breakdown with enhanced info
-        List<Map<String, Object>> taskBreakdown = entries.stream()
-                .collect(Collectors.groupingBy(TimeEntry::getTask))
-                .entrySet().stream()
-                .map(entry -> {
-                    Task task = entry.getKey();
-                    List<TimeEntry> taskEntries = entry.getValue();
-                    int totalMinutes = taskEntries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
-
-                    Map<String, Object> taskData = new HashMap<>();
-                    taskData.put("taskId", task.getId());
-                    taskData.put("taskTitle", task.getTitle());
-                    taskData.put("taskColor", task.getColor());
-                    taskData.put("categoryTitle", task.getCategory().getTitle());
-                    taskData.put("totalMinutes", totalMinutes);
-                    taskData.put("timeFormatted", formatMinutes(totalMinutes));
-                    taskData.put("entryCount", taskEntries.size());
-
-                    return taskData;
-                })
-                .sorted((a, b) -> Integer.compare((Integer) b.get("totalMinutes"), (Integer) a.get("totalMinutes")))
-                .collect(Collectors.toList());
+        List<Map<String, Object>> taskBreakdown = new ArrayList<>(accumulator.taskCount());
+        for (int t : accumulator.tasksByMinutes()) {
+            Task task = accumulator.task(t);
+            int totalMinutes = accumulator.taskMinutes(t);
+
+            Map<String, Object> taskData = new HashMap<>();
+            taskData.put("taskId", task.getId());
+            taskData.put("taskTitle", task.getTitle());
+            taskData.put("taskColor", task.getColor());
+            taskData.put("categoryTitle", accumulator.taskCategory(t).getTitle());
+            taskData.put("totalMinutes", totalMinutes);
+            taskData.put("timeFormatted", formatMinutes(totalMinutes));
+            taskData.put("entryCount", accumulator.taskEntries(t));
+
+            taskBreakdown.add(taskData);
+        }
 
         stats.put("taskBreakdown", taskBreakdown);
 
         // Add weekday vs weekend breakdown
-        int weekdayMinutes = 0;
-        int weekendMinutes = 0;
-
-        for (TimeEntry entry : entries) {
-            DayOfWeek dayOfWeek = entry.getEntryDate().getDayOfWeek();
-            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
-                weekendMinutes += entry.getDurationMinutes();
-            } else {
-                weekdayMinutes += entry.getDurationMinutes();
-            }
-        }
-
-        stats.put("weekdayMinutes", weekdayMinutes);
-        stats.put("weekendMinutes", weekendMinutes);
+        stats.put("weekdayMinutes", accumulator.weekdayMinutes());
+        stats.put("weekendMinutes", accumulator.weekendMinutes());
 
         // Add session statistics
-        OptionalDouble avgSession = entries.stream().mapToInt(TimeEntry::getDurationMinutes).average();
-        int longestSession = entries.stream().mapToInt(TimeEntry::getDurationMinutes).max().orElse(0);
-
-        stats.put("averageSession", avgSession.orElse(0.0));
-        stats.put("longestSession", longestSession);
+        stats.put("averageSession", (double) accumulator.totalMinutes() / accumulator.totalEntries());
+        stats.put("longestSession", accumulator.longestSession());
 
         return stats;
     }
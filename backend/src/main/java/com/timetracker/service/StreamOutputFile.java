@@ -0,0 +1,86 @@
+package com.timetracker.service;
+
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Parquet {@link OutputFile} over a plain, append-only stream such as an HTTP response.
+ * Parquet only ever appends (the footer goes last), so all it needs is the current position.
+ * Closing the Parquet writer leaves the underlying stream open. After {@link #abort()} nothing more
+ * reaches the stream, so a writer can still be closed (releasing its buffers) without its footer.
+ */
+public final class StreamOutputFile implements OutputFile {
+
+    private final OutputStream out;
+    private volatile boolean aborted;
+
+    public StreamOutputFile(OutputStream out) {
+        this.out = StreamUtils.nonClosing(out);
+    }
+
+    /**
+     * Discard everything written from now on
+     */
+    public void abort() {
+        aborted = true;
+    }
+
+    @Override
+    public PositionOutputStream create(long blockSizeHint) {
+        return new PositionOutputStream() {
+            private long position;
+
+            @Override
+            public long getPos() {
+                return position;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                if (!aborted) {
+                    out.write(b);
+                }
+                position++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (!aborted) {
+                    out.write(b, off, len);
+                }
+                position += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (!aborted) {
+                    out.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+    }
+
+    @Override
+    public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+        return create(blockSizeHint);
+    }
+
+    @Override
+    public boolean supportsBlockSize() {
+        return false;
+    }
+
+    @Override
+    public long defaultBlockSize() {
+        return 0;
+    }
+}
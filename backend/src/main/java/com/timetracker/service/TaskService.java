@@ -7,6 +7,7 @@ import com.timetracker.dto.response.TaskResponse;
 import com.timetracker.entity.Category;
 import com.timetracker.entity.Task;
 import com.timetracker.entity.User;
+import com.timetracker.event.TasksChangedEvent;
 import com.timetracker.exception.ResourceNotFoundException;
 import com.timetracker.exception.ValidationException;
 import com.timetracker.repository.CategoryRepository;
@@ -14,6 +15,7 @@ import com.timetracker.repository.TaskRepository;
 import com.timetracker.repository.TimeEntryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +33,7 @@ public class TaskService {
     private final TimeEntryRepository timeEntryRepository;
     private final TaskMapper taskMapper;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all tasks for a specific category
@@ -130,6 +133,7 @@ public class TaskService {
 
         Task savedTask = taskRepository.save(task);
         log.info("Updated task '{}' for user {}", savedTask.getTitle(), user.getEmail());
+        eventPublisher.publishEvent(new TasksChangedEvent(user.getId()));
 
         return taskMapper.toTaskResponse(savedTask);
     }
@@ -216,6 +220,7 @@ public class TaskService {
         Task savedTask = taskRepository.save(task);
         log.info("Moved task '{}' to category '{}' for user {}",
                 savedTask.getTitle(), newCategory.getTitle(), user.getEmail());
+        eventPublisher.publishEvent(new TasksChangedEvent(user.getId()));
 
         return taskMapper.toTaskResponse(savedTask);
     }
@@ -1,28 +1,57 @@
 package com.timetracker.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.timetracker.dto.mapper.TimeEntryMapper;
 import com.timetracker.dto.request.BulkTimeEntryRequest;
 import com.timetracker.dto.request.TimeEntryCreateRequest;
 import com.timetracker.dto.request.TimeEntryUpdateRequest;
+import com.timetracker.dto.request.TimesheetBulkRequest;
 import com.timetracker.dto.response.BulkOperationResponse;
 import com.timetracker.dto.response.TimeEntryResponse;
 import com.timetracker.dto.response.TimeEntryValidationResponse;
 import com.timetracker.entity.Task;
 import com.timetracker.entity.TimeEntry;
 import com.timetracker.entity.User;
+import com.timetracker.event.TimeEntriesChangedEvent;
 import com.timetracker.exception.ResourceNotFoundException;
 import com.timetracker.exception.ValidationException;
 import com.timetracker.repository.TaskRepository;
 import com.timetracker.repository.TimeEntryRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +64,16 @@ public class TimeEntryService {
     private final TimeEntryMapper timeEntryMapper;
     private final UserService userService;
     private final ValidationService validationService;
+    private final BulkIntervalValidator bulkIntervalValidator;
+    private final DailyRollupService dailyRollupService;
+    private final LiveTimerService liveTimerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.timesheet.max-days:31}")
+    private int maxTimesheetDays;
 
     /**
      * Get all time entries for a specific date
@@ -43,7 +82,7 @@ public class TimeEntryService {
     public List<TimeEntryResponse> getTimeEntriesForDate(LocalDate date) {
         User user = userService.getCurrentUser();
         List<TimeEntry> timeEntries = timeEntryRepository.findByUserAndEntryDateOrderByStartTimeAsc(user, date);
-        return timeEntryMapper.toResponseList(timeEntries);
+        return withPendingEndTime(user, timeEntryMapper.toResponseList(timeEntries));
     }
 
     /**
@@ -54,7 +93,57 @@ public class TimeEntryService {
         User user = userService.getCurrentUser();
         List<TimeEntry> timeEntries = timeEntryRepository.findByUserAndEntryDateBetweenOrderByEntryDateAscStartTimeAsc(
                 user, startDate, endDate);
-        return timeEntryMapper.toResponseList(timeEntries);
+        return withPendingEndTime(user, timeEntryMapper.toResponseList(timeEntries));
+    }
+
+    /**
+     * Stream time entries for a date range as NDJSON, one {@link TimeEntryResponse} per line, straight
+     * off a database cursor. The body runs after the request has returned, in its own read-only
+     * transaction, so neither side holds the whole range in memory.
+     */
+    @Transactional(readOnly = true)
+    public StreamingResponseBody streamTimeEntriesForDateRange(LocalDate startDate, LocalDate endDate) {
+        User user = userService.getCurrentUser();
+        ObjectWriter writer = objectMapper.writerFor(TimeEntryResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Optional<LiveTimerService.PendingEndTime> pending = liveTimerService.pendingEndTime(user.getId());
+
+        return outputStream -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+
+            try (JsonGenerator generator = objectMapper.getFactory()
+                    .createGenerator(StreamUtils.nonClosing(outputStream))) {
+                // Lines are terminated explicitly instead of separated by the default root value separator
+                generator.setRootValueSeparator(null);
+
+                Integer rows = transaction.execute(status -> {
+                    int written = 0;
+                    try (Stream<TimeEntry> timeEntries =
+                                 timeEntryRepository.streamByUserAndEntryDateBetween(user, startDate, endDate)) {
+                        for (TimeEntry entry : (Iterable<TimeEntry>) timeEntries::iterator) {
+                            TimeEntryResponse response = timeEntryMapper.toTimeEntryResponse(entry);
+                            pending.ifPresent(endTime -> applyPendingEndTime(endTime, response));
+                            writer.writeValue(generator, response);
+                            generator.writeRaw('\n');
+                            entityManager.detach(entry);
+                            written++;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return written;
+                });
+                generator.flush();
+
+                log.info("Streamed {} time entries as NDJSON for user {} (date range: {} to {})",
+                        rows, user.getEmail(), startDate, endDate);
+            } catch (UncheckedIOException e) {
+                // Usually the client going away; the cursor and transaction are already closed at this point
+                log.debug("NDJSON stream aborted: {}", e.getCause().getMessage());
+                throw e.getCause();
+            }
+        };
     }
 
     /**
@@ -62,8 +151,11 @@ public class TimeEntryService {
      */
     @Transactional(readOnly = true)
     public TimeEntryResponse getTimeEntryById(Long id) {
+        User user = userService.getCurrentUser();
         TimeEntry timeEntry = findTimeEntryByIdAndUser(id);
-        return timeEntryMapper.toTimeEntryResponse(timeEntry);
+        TimeEntryResponse response = timeEntryMapper.toTimeEntryResponse(timeEntry);
+        liveTimerService.pendingEndTime(user.getId()).ifPresent(endTime -> applyPendingEndTime(endTime, response));
+        return response;
     }
 
     /**
@@ -82,6 +174,8 @@ public class TimeEntryService {
         timeEntry.calculateDurationMinutes();
 
         TimeEntry savedTimeEntry = timeEntryRepository.save(timeEntry);
+        dailyRollupService.recordCreated(savedTimeEntry);
+        eventPublisher.publishEvent(TimeEntriesChangedEvent.of(user.getId(), savedTimeEntry.getEntryDate()));
         log.info("Created time entry for task '{}' on {} from {} to {} for user {}",
                 task.getTitle(), request.getEntryDate(), request.getStartTime(),
                 request.getEndTime(), user.getEmail());
@@ -100,11 +194,15 @@ public class TimeEntryService {
         // Validate the updated time entry
         validateTimeEntry(request, user, id);
 
+        DailyRollupService.Contribution before = DailyRollupService.Contribution.of(timeEntry);
         timeEntryMapper.updateEntityFromRequest(request, timeEntry);
         timeEntry.setTask(task);
         timeEntry.calculateDurationMinutes();
 
         TimeEntry savedTimeEntry = timeEntryRepository.save(timeEntry);
+        dailyRollupService.recordUpdated(before, savedTimeEntry);
+        liveTimerService.discard(user.getId(), id); // the request's end time supersedes a pending one
+        eventPublisher.publishEvent(TimeEntriesChangedEvent.of(user.getId(), before.entryDate(), savedTimeEntry.getEntryDate()));
         log.info("Updated time entry {} for user {}", id, user.getEmail());
 
         return timeEntryMapper.toTimeEntryResponse(savedTimeEntry);
@@ -118,63 +216,61 @@ public class TimeEntryService {
         TimeEntry timeEntry = findTimeEntryByIdAndUser(id);
 
         timeEntryRepository.delete(timeEntry);
+        dailyRollupService.recordDeleted(timeEntry);
+        liveTimerService.discard(user.getId(), id);
+        eventPublisher.publishEvent(TimeEntriesChangedEvent.of(user.getId(), timeEntry.getEntryDate()));
         log.info("Deleted time entry {} for user {}", id, user.getEmail());
     }
 
     /**
-     * Bulk create/update time entries for a specific date
+     * Bulk create/update time entries for a specific date.
+     * <p>
+     * The referenced tasks are loaded with one query and the whole payload is validated against the
+     * day in one pass (see {@link BulkIntervalValidator}); the accepted entries are inserted as JDBC
+     * batches when the transaction flushes.
      */
     public BulkOperationResponse bulkCreateTimeEntries(BulkTimeEntryRequest request) {
         User user = userService.getCurrentUser();
-        BulkOperationResponse response = new BulkOperationResponse();
-        response.setErrors(new ArrayList<>());
-        response.setWarnings(new ArrayList<>());
-        response.setCreatedIds(new ArrayList<>());
-        response.setSkippedIds(new ArrayList<>());
-
-        // If replaceExisting is true, delete all existing entries for the date
-        if (Boolean.TRUE.equals(request.getReplaceExisting())) {
-            List<TimeEntry> existingEntries = timeEntryRepository.findByUserAndEntryDateOrderByStartTimeAsc(
-                    user, request.getEntryDate());
-            timeEntryRepository.deleteAll(existingEntries);
-            log.info("Deleted {} existing time entries for date {} for user {}",
-                    existingEntries.size(), request.getEntryDate(), user.getEmail());
-        }
-
-        int successCount = 0;
-        int failureCount = 0;
+        LocalDate entryDate = request.getEntryDate();
 
-        for (TimeEntryCreateRequest entryRequest : request.getTimeEntries()) {
-            try {
-                entryRequest.setEntryDate(request.getEntryDate()); // Ensure date consistency
-
-                // Validate individual entry
-                validateTimeEntry(entryRequest, user, null);
+        request.getTimeEntries().forEach(entryRequest -> entryRequest.setEntryDate(entryDate)); // Ensure date consistency
+        Set<LocalDate> replacedDates = Boolean.TRUE.equals(request.getReplaceExisting()) ? Set.of(entryDate) : Set.of();
+        return bulkCreate(user, new TreeMap<>(Map.of(entryDate, request.getTimeEntries())), replacedDates, false);
+    }
 
-                Task task = findTaskByIdAndUser(entryRequest.getTaskId());
-                TimeEntry timeEntry = timeEntryMapper.toEntity(entryRequest);
-                timeEntry.setUser(user);
-                timeEntry.setTask(task);
-                timeEntry.calculateDurationMinutes();
+    /**
+     * Bulk create time entries for a range of days in one transaction, as submitted by the timesheet.
+     * <p>
+     * Entries are grouped by date and each day is validated on its own, as with
+     * {@link #bulkCreateTimeEntries}; with {@code replaceExisting} every day of the range is replaced,
+     * including days without entries in the request.
+     */
+    public BulkOperationResponse bulkCreateTimesheet(TimesheetBulkRequest request) {
+        User user = userService.getCurrentUser();
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
 
-                TimeEntry savedEntry = timeEntryRepository.save(timeEntry);
-                response.getCreatedIds().add(savedEntry.getId());
-                successCount++;
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException("Start date must be before or equal to end date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxTimesheetDays) {
+            throw new ValidationException("Timesheet range cannot exceed " + maxTimesheetDays + " days");
+        }
 
-            } catch (Exception e) {
-                response.getErrors().add("Failed to create time entry: " + e.getMessage());
-                failureCount++;
+        SortedMap<LocalDate, List<TimeEntryCreateRequest>> entriesByDay = new TreeMap<>();
+        for (TimeEntryCreateRequest entryRequest : request.getTimeEntries()) {
+            LocalDate entryDate = entryRequest.getEntryDate();
+            if (entryDate.isBefore(startDate) || entryDate.isAfter(endDate)) {
+                throw new ValidationException("Time entry date " + entryDate + " is outside the timesheet range "
+                        + startDate + " to " + endDate);
             }
+            entriesByDay.computeIfAbsent(entryDate, date -> new ArrayList<>()).add(entryRequest);
         }
 
-        response.setSuccessCount(successCount);
-        response.setFailureCount(failureCount);
-        response.setTotalProcessed(request.getTimeEntries().size());
-
-        log.info("Bulk created {} time entries ({} success, {} failure) for date {} for user {}",
-                response.getTotalProcessed(), successCount, failureCount, request.getEntryDate(), user.getEmail());
-
-        return response;
+        Set<LocalDate> replacedDates = Boolean.TRUE.equals(request.getReplaceExisting())
+                ? startDate.datesUntil(endDate.plusDays(1)).collect(Collectors.toSet())
+                : Set.of();
+        return bulkCreate(user, entriesByDay, replacedDates, true);
     }
 
     /**
@@ -193,7 +289,10 @@ public class TimeEntryService {
     public Integer getDailyTotalMinutes(LocalDate date) {
         User user = userService.getCurrentUser();
         Integer total = timeEntryRepository.getTotalMinutesForDate(user, date);
-        return total != null ? total : 0;
+        return (total != null ? total : 0) + liveTimerService.pendingEndTime(user.getId())
+                .filter(pending -> pending.entryDate().equals(date))
+                .map(LiveTimerService.PendingEndTime::extraMinutes)
+                .orElse(0);
     }
 
     /**
@@ -225,12 +324,6 @@ public class TimeEntryService {
     }
 
     private TimeEntryValidationResponse validateTimeEntry(Object request, User user, Long excludeId) {
-        TimeEntryValidationResponse response = new TimeEntryValidationResponse();
-        response.setValid(true);
-        response.setWarnings(new ArrayList<>());
-        response.setErrors(new ArrayList<>());
-        response.setConflicts(new ArrayList<>());
-
         LocalDate entryDate;
         LocalTime startTime;
         LocalTime endTime;
@@ -248,66 +341,205 @@ public class TimeEntryService {
             throw new IllegalArgumentException("Invalid request type");
         }
 
-        response.setDate(entryDate);
-
-        // Validate time range
-        if (!startTime.isBefore(endTime)) {
-            response.getErrors().add("Start time must be before end time");
-            response.setValid(false);
+        List<TimeEntryValidationResponse.ConflictingEntry> conflicts = new ArrayList<>(timeEntryRepository
+                .findOverlappingEntries(user, entryDate, startTime, endTime, excludeId).stream()
+                .map(bulkIntervalValidator::conflictWith)
+                .toList());
+        Integer storedTotal = timeEntryRepository.getTotalMinutesForDate(user, entryDate);
+        int dailyTotal = storedTotal != null ? storedTotal : 0;
+
+        // A running timer's pending end time counts instead of the stored one
+        Optional<LiveTimerService.PendingEndTime> pending = liveTimerService.pendingEndTime(user.getId())
+                .filter(p -> p.entryDate().equals(entryDate) && !p.entryId().equals(excludeId));
+        if (pending.isPresent()) {
+            LiveTimerService.PendingEndTime running = pending.get();
+            conflicts.removeIf(conflict -> running.entryId().equals(conflict.getTimeEntryId()));
+            if (running.startTime().isBefore(endTime) && startTime.isBefore(running.endTime())) {
+                TimeEntryValidationResponse.ConflictingEntry conflict = bulkIntervalValidator.conflictWith(
+                        findTimeEntryByIdAndUser(running.entryId()));
+                conflict.setEndTime(running.endTime().toString());
+                conflicts.add(conflict);
+            }
+            dailyTotal += running.extraMinutes();
         }
 
-        // Calculate duration and validate minimum
-        int durationMinutes = (int) java.time.Duration.between(startTime, endTime).toMinutes();
-        if (durationMinutes < 15) {
-            response.getErrors().add("Minimum time entry duration is 15 minutes");
-            response.setValid(false);
+        return requireValid(bulkIntervalValidator.check(entryDate, startTime, endTime, conflicts, dailyTotal));
+    }
+
+    /**
+     * Shared bulk path: existing entries of every affected day are loaded with one query and the new
+     * entries of each day are validated independently (in parallel for large payloads).
+     * <p>
+     * Replaced days are diffed rather than rewritten: an accepted entry with the start time of a stored
+     * entry updates it in place (or leaves it alone when nothing changed, keeping its id and timestamps),
+     * stored entries nobody matched are deleted and the rest is inserted. Statements go out as batches in
+     * that order. Start times are unchanged by an update and the stored day had no overlaps, so once the
+     * unmatched entries are deleted no update can collide with another row, and inserts go last, after the
+     * ends they depend on were moved.
+     *
+     * @param errorsWithDate name the day in error messages (for requests spanning several days)
+     */
+    private BulkOperationResponse bulkCreate(User user, SortedMap<LocalDate, List<TimeEntryCreateRequest>> entriesByDay,
+                                             Set<LocalDate> replacedDates, boolean errorsWithDate) {
+        BulkOperationResponse response = new BulkOperationResponse();
+        response.setErrors(new ArrayList<>());
+        response.setWarnings(new ArrayList<>());
+        response.setCreatedIds(new ArrayList<>());
+        response.setUpdatedIds(new ArrayList<>());
+        response.setSkippedIds(new ArrayList<>());
+        response.setDeletedIds(new ArrayList<>());
+
+        Set<LocalDate> affectedDates = new TreeSet<>(entriesByDay.keySet());
+        affectedDates.addAll(replacedDates);
+        // The days are validated and diffed against what is stored, so a running timer on them is written first
+        liveTimerService.flush(user.getId(), affectedDates);
+        List<TimeEntry> existingEntries = affectedDates.isEmpty() ? List.of()
+                : timeEntryRepository.findWithTaskByUserAndEntryDateInOrderByEntryDateAscStartTimeAsc(user, affectedDates);
+
+        // Stored entries of the replaced days by start time; those left unmatched are deleted
+        Map<LocalDate, Map<LocalTime, TimeEntry>> replaceable = new HashMap<>();
+        Map<LocalDate, List<TimeEntry>> existingByDay = new HashMap<>();
+        for (TimeEntry existing : existingEntries) {
+            if (replacedDates.contains(existing.getEntryDate())) {
+                replaceable.computeIfAbsent(existing.getEntryDate(), date -> new HashMap<>())
+                        .put(existing.getStartTime(), existing);
+            } else {
+                existingByDay.computeIfAbsent(existing.getEntryDate(), date -> new ArrayList<>()).add(existing);
+            }
         }
 
-        // Check for overlaps
-        List<TimeEntry> overlappingEntries = timeEntryRepository.findOverlappingEntries(
-                user, entryDate, startTime, endTime, excludeId);
-
-        if (!overlappingEntries.isEmpty()) {
-            response.setValid(false);
-            for (TimeEntry overlap : overlappingEntries) {
-                TimeEntryValidationResponse.ConflictingEntry conflict =
-                        new TimeEntryValidationResponse.ConflictingEntry();
-                conflict.setTimeEntryId(overlap.getId());
-                conflict.setTaskTitle(overlap.getTask().getTitle());
-                conflict.setStartTime(overlap.getStartTime().toString());
-                conflict.setEndTime(overlap.getEndTime().toString());
-                conflict.setConflictType("OVERLAP");
-                response.getConflicts().add(conflict);
+        // One query for every task referenced by the payload
+        Set<Long> taskIds = entriesByDay.values().stream()
+                .flatMap(List::stream)
+                .map(TimeEntryCreateRequest::getTaskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskIds.isEmpty() ? Map.of() : taskRepository.findAllByIdInAndUser(taskIds, user).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Map<LocalDate, List<TimeEntryValidationResponse>> validations = bulkIntervalValidator.validateDays(
+                entriesByDay, existingByDay, entryRequest -> tasks.containsKey(entryRequest.getTaskId()));
+
+        int successCount = 0;
+        int failureCount = 0;
+        int totalProcessed = 0;
+        List<TimeEntry> inserts = new ArrayList<>();
+        Map<TimeEntry, TimeEntryCreateRequest> updates = new LinkedHashMap<>();
+
+        for (Map.Entry<LocalDate, List<TimeEntryCreateRequest>> day : entriesByDay.entrySet()) {
+            List<TimeEntryValidationResponse> dayValidations = validations.get(day.getKey());
+            Map<LocalTime, TimeEntry> stored = replaceable.getOrDefault(day.getKey(), Map.of());
+            for (int i = 0; i < day.getValue().size(); i++) {
+                TimeEntryCreateRequest entryRequest = day.getValue().get(i);
+                try {
+                    requireValid(dayValidations.get(i));
+
+                    Task task = tasks.get(entryRequest.getTaskId());
+                    if (task == null) {
+                        throw new ResourceNotFoundException("Task not found with id: " + entryRequest.getTaskId());
+                    }
+
+                    TimeEntry match = stored.remove(entryRequest.getStartTime());
+                    if (match == null) {
+                        TimeEntry timeEntry = timeEntryMapper.toEntity(entryRequest);
+                        timeEntry.setUser(user);
+                        timeEntry.setTask(task);
+                        timeEntry.calculateDurationMinutes();
+                        inserts.add(timeEntry);
+                    } else if (isUnchanged(match, entryRequest)) {
+                        response.getSkippedIds().add(match.getId());
+                    } else {
+                        updates.put(match, entryRequest);
+                    }
+                    successCount++;
+
+                } catch (Exception e) {
+                    String prefix = errorsWithDate ? "Failed to create time entry for " + day.getKey() + ": "
+                            : "Failed to create time entry: ";
+                    response.getErrors().add(prefix + e.getMessage());
+                    failureCount++;
+                }
             }
-            response.getErrors().add("Time entry overlaps with existing entries");
+            totalProcessed += day.getValue().size();
         }
 
-        // Business rule validations
-        Integer dailyTotal = timeEntryRepository.getTotalMinutesForDate(user, entryDate);
-        int currentDailyMinutes = (dailyTotal != null ? dailyTotal : 0);
-        int newDailyTotal = currentDailyMinutes + durationMinutes;
+        // Deletes first, flushed on their own: Hibernate would otherwise run them after the inserts
+        List<TimeEntry> deletes = replaceable.values().stream()
+                .flatMap(day -> day.values().stream())
+                .toList();
+        if (!deletes.isEmpty()) {
+            timeEntryRepository.deleteAll(deletes);
+            timeEntryRepository.flush();
+            deletes.forEach(dailyRollupService::recordDeleted);
+            deletes.forEach(timeEntry -> response.getDeletedIds().add(timeEntry.getId()));
+        }
 
-        // Warning for long days
-        if (newDailyTotal > 16 * 60) { // More than 16 hours
-            response.getWarnings().add("Daily total exceeds 16 hours");
+        // Then the in-place updates, flushed before the inserts that may take the time they freed
+        if (!updates.isEmpty()) {
+            Map<TimeEntry, DailyRollupService.Contribution> before = new LinkedHashMap<>();
+            updates.forEach((timeEntry, entryRequest) -> {
+                before.put(timeEntry, DailyRollupService.Contribution.of(timeEntry));
+                timeEntry.setTask(tasks.get(entryRequest.getTaskId()));
+                timeEntry.setEndTime(entryRequest.getEndTime());
+                timeEntry.setDescription(entryRequest.getDescription());
+                timeEntry.setIsBillable(Boolean.TRUE.equals(entryRequest.getIsBillable()));
+                timeEntry.calculateDurationMinutes();
+            });
+            timeEntryRepository.flush();
+            before.forEach((timeEntry, contribution) -> dailyRollupService.recordUpdated(contribution, timeEntry));
+            updates.keySet().forEach(timeEntry -> response.getUpdatedIds().add(timeEntry.getId()));
         }
 
-        // Warning for very long single entry
-        if (durationMinutes > 12 * 60) { // More than 12 hours
-            response.getWarnings().add("Single time entry exceeds 12 hours");
+        // Ids come from the pooled sequence, so these inserts are batched at flush
+        timeEntryRepository.saveAll(inserts);
+        dailyRollupService.recordCreated(inserts);
+        inserts.forEach(timeEntry -> response.getCreatedIds().add(timeEntry.getId()));
+
+        if (!replacedDates.isEmpty()) {
+            log.info("Replaced {} days for user {}: {} deleted, {} updated, {} unchanged",
+                    replacedDates.size(), user.getEmail(), deletes.size(), updates.size(),
+                    response.getSkippedIds().size());
         }
 
-        // Error for impossible day
-        if (newDailyTotal > 24 * 60) { // More than 24 hours
-            response.getErrors().add("Daily total cannot exceed 24 hours");
-            response.setValid(false);
+        eventPublisher.publishEvent(new TimeEntriesChangedEvent(user.getId(), Set.copyOf(affectedDates)));
+
+        response.setSuccessCount(successCount);
+        response.setFailureCount(failureCount);
+        response.setTotalProcessed(totalProcessed);
+
+        log.info("Bulk created {} time entries ({} success, {} failure) on {} days for user {}",
+                totalProcessed, successCount, failureCount, entriesByDay.size(), user.getEmail());
+
+        return response;
+    }
+
+    // Whether a stored entry already is what the request (with the same date and start time) describes
+    private static boolean isUnchanged(TimeEntry stored, TimeEntryCreateRequest request) {
+        return stored.getTask().getId().equals(request.getTaskId())
+                && stored.getEndTime().equals(request.getEndTime())
+                && Objects.equals(stored.getDescription(), request.getDescription())
+                && Boolean.TRUE.equals(stored.getIsBillable()) == Boolean.TRUE.equals(request.getIsBillable());
+    }
+
+    private List<TimeEntryResponse> withPendingEndTime(User user, List<TimeEntryResponse> responses) {
+        liveTimerService.pendingEndTime(user.getId())
+                .ifPresent(pending -> responses.forEach(response -> applyPendingEndTime(pending, response)));
+        return responses;
+    }
+
+    // Show a running timer's end time that is not written yet
+    private static void applyPendingEndTime(LiveTimerService.PendingEndTime pending, TimeEntryResponse response) {
+        if (pending.entryId().equals(response.getId())) {
+            response.setEndTime(pending.endTime());
+            response.setDurationMinutes((int) Duration.between(pending.startTime(), pending.endTime()).toMinutes());
         }
+    }
 
+    private static TimeEntryValidationResponse requireValid(TimeEntryValidationResponse response) {
         if (!response.getValid()) {
             throw new ValidationException("Time entry validation failed: " +
                     String.join(", ", response.getErrors()));
         }
-
         return response;
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.timetracker.repository.TimeEntryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -26,6 +27,15 @@ public class ValidationService {
      * Validate a day's time entries for unusual patterns and potential issues
      */
     public TimeEntryValidationResponse validateDayEntries(User user, LocalDate date) {
+        List<TimeEntry> dayEntries = timeEntryRepository.findByUserAndEntryDateOrderByStartTimeAsc(user, date);
+        return validateDayEntries(date, dayEntries);
+    }
+
+    /**
+     * Validate an already loaded day of time entries (ordered by start time)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TimeEntryValidationResponse validateDayEntries(LocalDate date, List<TimeEntry> dayEntries) {
         TimeEntryValidationResponse response = new TimeEntryValidationResponse();
         response.setDate(date);
         response.setValid(true);
@@ -33,8 +43,6 @@ public class ValidationService {
         response.setErrors(new ArrayList<>());
         response.setConflicts(new ArrayList<>());
 
-        List<TimeEntry> dayEntries = timeEntryRepository.findByUserAndEntryDateOrderByStartTimeAsc(user, date);
-
         if (dayEntries.isEmpty()) {
             return response; // No entries to validate
         }
@@ -0,0 +1,34 @@
+-- Daily task totals rollup
+-- Version: 1.1.0
+-- Description: Per user, date and task aggregate of time entries, used by the statistics reports.
+-- Maintained by TimeEntryService in the same transaction as every time entry change.
+
+CREATE TABLE daily_task_totals (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    entry_date DATE NOT NULL,
+    task_id BIGINT NOT NULL REFERENCES tasks(id) ON DELETE CASCADE,
+    total_minutes INTEGER NOT NULL DEFAULT 0,
+    entry_count INTEGER NOT NULL DEFAULT 0,
+    billable_minutes INTEGER NOT NULL DEFAULT 0,
+    UNIQUE(user_id, entry_date, task_id)
+);
+
+CREATE INDEX idx_daily_task_totals_task ON daily_task_totals(task_id);
+
+-- Backfill from existing time entries
+INSERT INTO daily_task_totals (user_id, entry_date, task_id, total_minutes, entry_count, billable_minutes)
+SELECT user_id,
+       entry_date,
+       task_id,
+       SUM(duration_minutes),
+       COUNT(*),
+       SUM(CASE WHEN is_billable THEN duration_minutes ELSE 0 END)
+FROM time_entries
+GROUP BY user_id, entry_date, task_id;
+
+-- Comments for rollback
+/*
+ROLLBACK INSTRUCTIONS:
+1. DROP TABLE daily_task_totals;
+*/
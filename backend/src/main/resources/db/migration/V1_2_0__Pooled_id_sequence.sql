@@ -0,0 +1,36 @@
+-- Pooled id sequence
+-- Version: 1.2.0
+-- Description: Replace the per-table BIGSERIAL sequences of users, categories, tasks and time_entries
+-- with one shared sequence that Hibernate draws ids from in blocks of 50 (pooled optimizer), so ids
+-- are known before INSERT and inserts can be sent as JDBC batches.
+-- The increment must equal the allocationSize in BaseEntity.
+
+CREATE SEQUENCE entity_id_seq INCREMENT BY 50;
+
+-- The next value is the top of the first block, so the block starts right after the highest id in use
+SELECT setval('entity_id_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM users),
+        (SELECT COALESCE(MAX(id), 0) FROM categories),
+        (SELECT COALESCE(MAX(id), 0) FROM tasks),
+        (SELECT COALESCE(MAX(id), 0) FROM time_entries)) + 50, false);
+
+-- Rows inserted outside Hibernate take a sequence value as their id, which is never inside a block
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('entity_id_seq');
+ALTER TABLE categories ALTER COLUMN id SET DEFAULT nextval('entity_id_seq');
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('entity_id_seq');
+ALTER TABLE time_entries ALTER COLUMN id SET DEFAULT nextval('entity_id_seq');
+
+DROP SEQUENCE users_id_seq;
+DROP SEQUENCE categories_id_seq;
+DROP SEQUENCE tasks_id_seq;
+DROP SEQUENCE time_entries_id_seq;
+
+-- Comments for rollback
+/*
+ROLLBACK INSTRUCTIONS:
+1. For each of users, categories, tasks and time_entries:
+   CREATE SEQUENCE <table>_id_seq OWNED BY <table>.id;
+   SELECT setval('<table>_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM <table>), false);
+   ALTER TABLE <table> ALTER COLUMN id SET DEFAULT nextval('<table>_id_seq');
+2. DROP SEQUENCE entity_id_seq;
+*/
@@ -0,0 +1,23 @@
+-- Idempotency keys
+-- Version: 1.3.0
+-- Description: Responses of create requests sent with an Idempotency-Key header, so a retried request
+-- gets the stored response instead of being processed again. Rows expire after app.idempotency.ttl
+-- and are deleted by IdempotencyService.
+
+CREATE TABLE idempotency_keys (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys(created_at);
+
+-- Comments for rollback
+/*
+ROLLBACK INSTRUCTIONS:
+1. DROP TABLE idempotency_keys;
+*/
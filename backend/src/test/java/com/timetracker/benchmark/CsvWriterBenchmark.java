@@ -0,0 +1,137 @@
+package com.timetracker.benchmark;
+
+import com.timetracker.service.CsvWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time entry CSV rows written with {@link CsvWriter} versus the previous PrintWriter.printf encoder.
+ * <p>
+ * Scores are rows/s; with the GC profiler, {@code gc.alloc.rate.norm} is bytes allocated per row.
+ * Run with {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.timetracker.benchmark.CsvWriterBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvWriterBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private record Row(LocalDate date, LocalTime start, LocalTime end, int minutes, String task,
+                       String category, String description, boolean billable) {
+    }
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private Row[] rows;
+    private OutputStream sink;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        String[] descriptions = {"", "Standup", "Fixed bug, deployed", "Reviewed \"auth\" PR", "Café planning"};
+        rows = new Row[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            LocalTime start = LocalTime.of(8 + i % 10, i % 60);
+            int minutes = 15 + i % 120;
+            rows[i] = new Row(LocalDate.of(2024, 1, 1).plusDays(i % 366), start, start.plusMinutes(minutes),
+                    minutes, "Task " + i % 20, "Category " + i % 5, descriptions[i % descriptions.length], i % 3 == 0);
+        }
+        sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(b);
+            }
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void csvWriter() throws IOException {
+        CsvWriter writer = new CsvWriter(sink);
+        for (Row row : rows) {
+            writer.field(row.date())
+                    .field(row.start())
+                    .field(row.end())
+                    .field(row.minutes())
+                    .duration(row.minutes())
+                    .field(row.task())
+                    .field(row.category())
+                    .field(row.description())
+                    .field(row.billable() ? "Yes" : "No")
+                    .endRow();
+        }
+        writer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void printWriter() {
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(sink, StandardCharsets.UTF_8));
+        for (Row row : rows) {
+            writer.printf("%s,%s,%s,%d,%s,%s,%s,%s,%s%n",
+                    row.date().format(DATE_FORMATTER), row.start().format(TIME_FORMATTER),
+                    row.end().format(TIME_FORMATTER), row.minutes(), formatMinutes(row.minutes()),
+                    escapeCsvValue(row.task()), escapeCsvValue(row.category()),
+                    escapeCsvValue(row.description()), row.billable() ? "Yes" : "No");
+        }
+        writer.flush();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CsvWriterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    // The encoder ExportService used before CsvWriter
+
+    private static String escapeCsvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String formatMinutes(int minutes) {
+        if (minutes == 0) {
+            return "0m";
+        }
+        int hours = minutes / 60;
+        int remainingMinutes = minutes % 60;
+        if (hours == 0) {
+            return remainingMinutes + "m";
+        } else if (remainingMinutes == 0) {
+            return hours + "h";
+        } else {
+            return hours + "h " + remainingMinutes + "m";
+        }
+    }
+}
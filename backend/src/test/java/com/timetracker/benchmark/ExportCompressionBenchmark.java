@@ -0,0 +1,113 @@
+package com.timetracker.benchmark;
+
+import com.timetracker.service.CsvWriter;
+import com.timetracker.service.ExportCompression;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time entry CSV export written through each {@link ExportCompression}, over a year's worth of
+ * typical rows.
+ * <p>
+ * Scores are rows/s; the compressed size and ratio against the plain CSV are printed once per
+ * codec at setup. Run with {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.timetracker.benchmark.ExportCompressionBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ExportCompressionBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"NONE", "GZIP", "ZSTD"})
+    private ExportCompression compression;
+
+    private OutputStream sink;
+
+    @Setup
+    public void setUp(Blackhole blackhole) throws IOException {
+        sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(b);
+            }
+        };
+
+        long plain = export(ExportCompression.NONE, new CountingOutputStream());
+        long compressed = export(compression, new CountingOutputStream());
+        System.out.printf("%n%s: %d rows, %d -> %d bytes, ratio %.1fx%n",
+                compression, ROWS, plain, compressed, (double) plain / compressed);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void export() throws IOException {
+        export(compression, sink);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExportCompressionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // Helpers
+
+    private static long export(ExportCompression compression, OutputStream target) throws IOException {
+        CountingOutputStream counter = target instanceof CountingOutputStream counting ? counting : null;
+        String[] descriptions = {"", "Standup", "Fixed bug, deployed", "Reviewed \"auth\" PR", "Sprint planning"};
+        try (OutputStream out = compression.wrap(target)) {
+            CsvWriter writer = new CsvWriter(out);
+            writer.line("Date,Start Time,End Time,Duration (minutes),Duration (formatted),Task,Category,Description,Billable");
+            LocalDate firstDay = LocalDate.of(2023, 1, 1);
+            for (int i = 0; i < ROWS; i++) {
+                LocalTime start = LocalTime.of(8 + i % 10, (i * 7) % 60);
+                int minutes = 15 + (i * 13) % 120;
+                writer.field(firstDay.plusDays(i / 250))
+                        .field(start)
+                        .field(start.plusMinutes(minutes))
+                        .field(minutes)
+                        .duration(minutes)
+                        .field("Task " + i % 25)
+                        .field("Category " + i % 6)
+                        .field(descriptions[i % descriptions.length])
+                        .field(i % 3 == 0 ? "Yes" : "No")
+                        .endRow();
+            }
+            writer.flush();
+        }
+        return counter != null ? counter.count : -1;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.timetracker.benchmark;
+
+import com.timetracker.entity.Category;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.service.ReportAccumulator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Report figures over 100k time entries (60 tasks in 10 categories, about nine years of days)
+ * computed with {@link ReportAccumulator} versus the stream grouping ReportService used before.
+ * <p>
+ * Scores are ms per report; with the GC profiler, {@code gc.alloc.rate.norm} is bytes allocated per
+ * report. Run with {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.timetracker.benchmark.ReportAccumulatorBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportAccumulatorBenchmark {
+
+    private static final int ENTRIES = 100_000;
+    private static final int TASKS = 60;
+    private static final int CATEGORIES = 10;
+
+    private List<TimeEntry> entries;
+
+    @Setup
+    public void setUp() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setId((long) i + 1);
+            category.setTitle("Category " + i);
+            categories.add(category);
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i);
+            task.setCategory(categories.get(i % CATEGORIES));
+            tasks.add(task);
+        }
+
+        entries = new ArrayList<>(ENTRIES);
+        LocalDate firstDay = LocalDate.of(2016, 1, 1);
+        for (int i = 0; i < ENTRIES; i++) {
+            TimeEntry entry = new TimeEntry();
+            entry.setId((long) i + 1);
+            entry.setTask(tasks.get((i * 7) % TASKS));
+            entry.setEntryDate(firstDay.plusDays(i / 30));
+            entry.setStartTime(LocalTime.of(7 + (i % 30) / 2, (i % 2) * 30));
+            entry.setEndTime(entry.getStartTime().plusMinutes(15 + (i * 11) % 15));
+            entry.calculateDurationMinutes();
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public void accumulator(Blackhole blackhole) {
+        ReportAccumulator accumulator = new ReportAccumulator();
+        for (TimeEntry entry : entries) {
+            accumulator.add(entry);
+        }
+
+        blackhole.consume(accumulator.totalMinutes());
+        blackhole.consume(accumulator.totalEntries());
+        blackhole.consume(accumulator.longestSession());
+        blackhole.consume(accumulator.weekdayMinutes());
+        blackhole.consume(accumulator.weekendMinutes());
+        blackhole.consume(accumulator.daysTracked());
+        blackhole.consume(accumulator.mostProductiveDay());
+        blackhole.consume(accumulator.task(accumulator.topTask()));
+        for (int t : accumulator.tasksByMinutes()) {
+            blackhole.consume(accumulator.taskMinutes(t) / accumulator.taskEntries(t));
+        }
+        for (int c : accumulator.categoriesByMinutes()) {
+            blackhole.consume(accumulator.categoryMinutes(c));
+        }
+    }
+
+    @Benchmark
+    public void streams(Blackhole blackhole) {
+        int totalMinutes = entries.stream().mapToInt(TimeEntry::getDurationMinutes).sum();
+        blackhole.consume(totalMinutes);
+        blackhole.consume(entries.size());
+        blackhole.consume(entries.stream().mapToInt(TimeEntry::getDurationMinutes).max().orElse(0));
+
+        Map<Boolean, Integer> weekend = entries.stream()
+                .collect(Collectors.partitioningBy(
+                        entry -> entry.getEntryDate().getDayOfWeek() == DayOfWeek.SATURDAY
+                                || entry.getEntryDate().getDayOfWeek() == DayOfWeek.SUNDAY,
+                        Collectors.summingInt(TimeEntry::getDurationMinutes)));
+        blackhole.consume(weekend);
+
+        blackhole.consume(entries.stream().map(TimeEntry::getEntryDate).distinct().count());
+
+        Map<LocalDate, List<TimeEntry>> byDate = entries.stream()
+                .collect(Collectors.groupingBy(TimeEntry::getEntryDate));
+        Optional<LocalDate> mostProductiveDay = byDate.entrySet().stream()
+                .max(Comparator.comparingInt(day -> day.getValue().stream()
+                        .mapToInt(TimeEntry::getDurationMinutes).sum()))
+                .map(Map.Entry::getKey);
+        blackhole.consume(mostProductiveDay);
+
+        Map<Task, List<TimeEntry>> byTask = entries.stream().collect(Collectors.groupingBy(TimeEntry::getTask));
+        byTask.entrySet().stream()
+                .map(task -> Map.entry(task.getKey(), task.getValue().stream()
+                        .mapToInt(TimeEntry::getDurationMinutes).sum()))
+                .sorted(Map.Entry.<Task, Integer>comparingByValue().reversed())
+                .forEach(task -> blackhole.consume(task.getValue() / byTask.get(task.getKey()).size()));
+
+        Map<Category, List<TimeEntry>> byCategory = entries.stream()
+                .collect(Collectors.groupingBy(entry -> entry.getTask().getCategory()));
+        byCategory.values().stream()
+                .map(categoryEntries -> categoryEntries.stream().mapToInt(TimeEntry::getDurationMinutes).sum())
+                .sorted(Comparator.reverseOrder())
+                .forEach(blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReportAccumulatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
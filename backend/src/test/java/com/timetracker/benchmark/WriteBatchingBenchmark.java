@@ -0,0 +1,168 @@
+package com.timetracker.benchmark;
+
+import com.timetracker.TimeTrackerApplication;
+import com.timetracker.dto.request.BulkTimeEntryRequest;
+import com.timetracker.dto.request.CategoryCreateRequest;
+import com.timetracker.dto.request.TaskCreateRequest;
+import com.timetracker.dto.request.TimeEntryCreateRequest;
+import com.timetracker.service.CategoryService;
+import com.timetracker.service.TaskService;
+import com.timetracker.service.TimeEntryService;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk time entry creation and task reordering against PostgreSQL (Testcontainers), comparing
+ * <ul>
+ *   <li>{@code identity}: the schema and mapping from before V1_2_0, with per-table identity ids
+ *   (overridden by {@code META-INF/identity-ids-orm.xml}) and no write batching;</li>
+ *   <li>{@code pooled-unbatched}: pooled sequence ids with {@code batch_size=1}, which separates the
+ *   gain of the id strategy from that of batching;</li>
+ *   <li>{@code pooled}: the current setup, pooled sequence ids and batches of 50.</li>
+ * </ul>
+ * <p>
+ * Scores are rows/s: entries inserted, or tasks whose sort order was updated. Needs Docker; run with
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.timetracker.benchmark.WriteBatchingBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriteBatchingBenchmark {
+
+    private static final int ENTRIES_PER_DAY = 48; // 20 minute entries, 16 hours
+    private static final int TASKS = 50;
+
+    // Migrations after V1_2_0 applied to the identity schema; none of them depend on the id sequence
+    private static final String[] IDENTITY_SCHEMA_LATER_MIGRATIONS = {"V1_3_0__Idempotency_keys.sql"};
+
+    @Param({"identity", "pooled-unbatched", "pooled"})
+    public String writes;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private TimeEntryService timeEntryService;
+    private TaskService taskService;
+
+    private Long categoryId;
+    private List<Long> taskIds;
+    private LocalDate nextDate = LocalDate.of(2000, 1, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.profiles.active=benchmark",
+                "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + ("pooled".equals(writes) ? 50 : 1),
+                "logging.level.root=WARN"));
+        if ("identity".equals(writes)) {
+            migrateIdentitySchema();
+            properties.add("spring.flyway.enabled=false");
+            properties.add("spring.jpa.mapping-resources=META-INF/identity-ids-orm.xml");
+        }
+
+        context = new SpringApplicationBuilder(TimeTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new))
+                .run();
+        timeEntryService = context.getBean(TimeEntryService.class);
+        taskService = context.getBean(TaskService.class);
+
+        CategoryCreateRequest category = new CategoryCreateRequest();
+        category.setTitle("Benchmark");
+        categoryId = context.getBean(CategoryService.class).createCategory(category).getId();
+
+        taskIds = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            TaskCreateRequest task = new TaskCreateRequest();
+            task.setCategoryId(categoryId);
+            task.setTitle("Task " + i);
+            task.setColor(String.format("#%06X", i * 0x050505));
+            taskIds.add(taskService.createTask(task).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES_PER_DAY)
+    public Object bulkCreate() {
+        BulkTimeEntryRequest request = new BulkTimeEntryRequest();
+        request.setEntryDate(nextDate);
+        request.setTimeEntries(new ArrayList<>());
+        for (int i = 0; i < ENTRIES_PER_DAY; i++) {
+            TimeEntryCreateRequest entry = new TimeEntryCreateRequest();
+            entry.setTaskId(taskIds.get(i % TASKS));
+            entry.setStartTime(LocalTime.MIDNIGHT.plusMinutes(20L * i));
+            entry.setEndTime(LocalTime.MIDNIGHT.plusMinutes(20L * i + 20));
+            request.getTimeEntries().add(entry);
+        }
+        nextDate = nextDate.plusDays(1);
+        return timeEntryService.bulkCreateTimeEntries(request);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public Object reorder() {
+        Collections.rotate(taskIds, 1);
+        return taskService.reorderTasks(categoryId, taskIds);
+    }
+
+    // The schema as it was before V1_2_0 (BIGSERIAL ids), plus the later unrelated migrations
+    private void migrateIdentitySchema() throws IOException, SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .target("1.1.0")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            for (String migration : IDENTITY_SCHEMA_LATER_MIGRATIONS) {
+                statement.execute(new ClassPathResource("db/migration/" + migration)
+                        .getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WriteBatchingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
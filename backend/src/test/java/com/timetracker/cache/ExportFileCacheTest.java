@@ -0,0 +1,73 @@
+package com.timetracker.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Files are generated once per user and range, and only an invalidation of the same user discards a
+ * file that was being generated.
+ */
+class ExportFileCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    @TempDir
+    private Path directory;
+
+    private ExportFileCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new ExportFileCache(true, directory, 1);
+        cache.init();
+    }
+
+    @Test
+    void generatesOnceUntilInvalidated() throws IOException {
+        int[] generated = new int[1];
+        ExportFileCache.Generator generator = out -> {
+            generated[0]++;
+            out.write("a,b\n".getBytes(StandardCharsets.UTF_8));
+        };
+
+        Optional<Path> file = cache.get(1L, "time_entries", START, END, "csv", generator);
+        assertThat(file).hasValueSatisfying(path -> assertThat(path).hasContent("a,b"));
+        assertThat(cache.get(1L, "time_entries", START, END, "csv", generator)).isEqualTo(file);
+        assertThat(generated[0]).isEqualTo(1);
+
+        cache.invalidate(1L, List.of(END.plusDays(1)));
+        assertThat(file.get()).exists();
+        cache.invalidate(1L, List.of(END));
+        assertThat(file.get()).doesNotExist();
+    }
+
+    @Test
+    void onlyAnInvalidationOfTheSameUserDiscardsAGeneration() throws IOException {
+        Optional<Path> kept = cache.get(1L, "time_entries", START, END, "csv", out -> {
+            cache.invalidateAll(2L);
+            out.write('x');
+        });
+        assertThat(kept).isPresent();
+
+        Optional<Path> discarded = cache.get(2L, "time_entries", START, END, "csv", out -> {
+            cache.invalidate(2L, List.of(START));
+            out.write('x');
+        });
+        assertThat(discarded).isEmpty();
+        try (var files = Files.list(directory.resolve("2"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.timetracker.controller;
+
+import com.timetracker.cache.ExportFileCache;
+import com.timetracker.config.StreamingResponseBodyMessageConverter;
+import com.timetracker.entity.Category;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import com.timetracker.repository.DailyTaskTotalRepository;
+import com.timetracker.repository.TimeEntryRepository;
+import com.timetracker.service.ExportService;
+import com.timetracker.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Closed months come from the export cache as a plain file with Range support, whatever the client
+ * accepts as Content-Encoding; only an explicit {@code ?compression=} compresses them.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportControllerTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+    private static final String MONTH = "/api/export/month/2025/6/csv";
+
+    @Mock
+    private TimeEntryRepository timeEntryRepository;
+
+    @Mock
+    private DailyTaskTotalRepository dailyTaskTotalRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @TempDir
+    private Path cacheDirectory;
+
+    private MockMvc mockMvc;
+    private List<TimeEntry> entries;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("admin@localhost");
+
+        Category category = new Category();
+        category.setId(1L);
+        category.setTitle("Work");
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Backend");
+        task.setCategory(category);
+
+        entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TimeEntry entry = new TimeEntry();
+            entry.setTask(task);
+            entry.setEntryDate(START.plusDays(i % 30));
+            entry.setStartTime(LocalTime.of(8 + i % 10, 0));
+            entry.setEndTime(entry.getStartTime().plusMinutes(45));
+            entry.calculateDurationMinutes();
+            entry.setDescription("Entry " + i);
+            entry.setIsBillable(i % 2 == 0);
+            entries.add(entry);
+        }
+
+        lenient().when(userService.getCurrentUser()).thenReturn(user);
+        lenient().when(timeEntryRepository.streamByUserAndEntryDateBetween(user, START, END))
+                .thenAnswer(invocation -> entries.stream());
+
+        ExportFileCache exportFileCache = new ExportFileCache(true, cacheDirectory, 1);
+        exportFileCache.init();
+        ExportService exportService = new ExportService(timeEntryRepository, dailyTaskTotalRepository, userService,
+                transactionManager, entityManager, exportFileCache);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ExportController(exportService))
+                .setMessageConverters(new ResourceHttpMessageConverter(), new ResourceRegionHttpMessageConverter(),
+                        new StreamingResponseBodyMessageConverter())
+                .build();
+    }
+
+    @Test
+    void rangeRequestIsServedFromTheCachedFileDespiteAcceptEncoding() throws Exception {
+        byte[] full = mockMvc.perform(get(MONTH).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br, zstd"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new String(full, StandardCharsets.UTF_8)).startsWith("Date,Start Time");
+
+        // Resuming a download: the remaining bytes of the same file
+        byte[] rest = mockMvc.perform(get(MONTH)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, zstd")
+                        .header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+                        "bytes 100-" + (full.length - 1) + "/" + full.length))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(rest).isEqualTo(Arrays.copyOfRange(full, 100, full.length));
+
+        // Generated once, then served from disk
+        verify(timeEntryRepository, times(1)).streamByUserAndEntryDateBetween(userService.getCurrentUser(), START, END);
+    }
+
+    @Test
+    void explicitCompressionIsACompressedFileOfTheCachedExport() throws Exception {
+        byte[] plain = mockMvc.perform(get(MONTH)).andReturn().getResponse().getContentAsByteArray();
+
+        byte[] compressed = mockMvc.perform(get(MONTH).param("compression", "gzip")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "zstd"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain);
+        }
+    }
+
+    @Test
+    void openMonthIsStreamedWithTheNegotiatedEncoding() throws Exception {
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        lenient().when(timeEntryRepository.streamByUserAndEntryDateBetween(userService.getCurrentUser(), thisMonth,
+                thisMonth.withDayOfMonth(thisMonth.lengthOfMonth()))).thenAnswer(invocation -> entries.stream());
+
+        byte[] compressed = mockMvc.perform(get("/api/export/month/" + thisMonth.getYear() + "/"
+                        + thisMonth.getMonthValue() + "/csv").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).startsWith("Date,Start Time");
+        }
+    }
+}
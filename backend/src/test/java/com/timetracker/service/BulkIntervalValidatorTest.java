@@ -0,0 +1,107 @@
+package com.timetracker.service;
+
+import com.timetracker.dto.request.TimeEntryCreateRequest;
+import com.timetracker.dto.response.TimeEntryValidationResponse;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.repository.TimeEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A timesheet spanning at least the threshold of days is validated in parallel, with exactly the
+ * responses a day-by-day validation gives.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkIntervalValidatorTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+    private static final int DAYS = 31;
+
+    @Mock
+    private TimeEntryRepository timeEntryRepository;
+
+    private SortedMap<LocalDate, List<TimeEntryCreateRequest>> entriesByDay;
+    private Map<LocalDate, List<TimeEntry>> existingByDay;
+
+    @BeforeEach
+    void setUp() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Backend");
+
+        entriesByDay = new TreeMap<>();
+        existingByDay = new HashMap<>();
+        for (int day = 0; day < DAYS; day++) {
+            LocalDate date = START.plusDays(day);
+
+            // 08:00-09:00 is already saved
+            TimeEntry existing = new TimeEntry();
+            existing.setId((long) day);
+            existing.setTask(task);
+            existing.setEntryDate(date);
+            existing.setStartTime(LocalTime.of(8, 0));
+            existing.setEndTime(LocalTime.of(9, 0));
+            existing.calculateDurationMinutes();
+            existingByDay.put(date, List.of(existing));
+
+            List<TimeEntryCreateRequest> entries = new ArrayList<>();
+            entries.add(request(date, 8, 30, 9, 30)); // overlaps the saved entry
+            entries.add(request(date, 9, 0, 10, 0));
+            entries.add(request(date, 9, 45, 11, 0)); // overlaps the accepted 09:00-10:00
+            entries.add(request(date, 11, 0, 11, 10)); // too short
+            entries.add(request(date, 12, 0, 12, day % 2 == 0 ? 30 : 10)); // too short on odd days
+            entriesByDay.put(date, entries);
+        }
+    }
+
+    @Test
+    void parallelValidationMatchesSequentialValidation() {
+        Predicate<TimeEntryCreateRequest> saveable = entry -> true;
+
+        Map<LocalDate, List<TimeEntryValidationResponse>> parallel =
+                new BulkIntervalValidator(timeEntryRepository, 7).validateDays(entriesByDay, existingByDay, saveable);
+        Map<LocalDate, List<TimeEntryValidationResponse>> sequential =
+                new BulkIntervalValidator(timeEntryRepository, 0).validateDays(entriesByDay, existingByDay, saveable);
+
+        assertThat(parallel).isEqualTo(sequential).hasSize(DAYS);
+
+        for (int day = 0; day < DAYS; day++) {
+            List<TimeEntryValidationResponse> responses = parallel.get(START.plusDays(day));
+            assertThat(responses).extracting(TimeEntryValidationResponse::getValid)
+                    .containsExactly(false, true, false, false, day % 2 == 0);
+            assertThat(responses.get(0).getConflicts())
+                    .extracting(TimeEntryValidationResponse.ConflictingEntry::getTimeEntryId)
+                    .containsExactly((long) day);
+            assertThat(responses.get(2).getConflicts())
+                    .extracting(TimeEntryValidationResponse.ConflictingEntry::getStartTime)
+                    .containsExactly("09:00");
+            assertThat(responses.get(3).getErrors()).containsExactly("Minimum time entry duration is 15 minutes");
+        }
+    }
+
+    private static TimeEntryCreateRequest request(LocalDate date, int startHour, int startMinute,
+                                                  int endHour, int endMinute) {
+        TimeEntryCreateRequest request = new TimeEntryCreateRequest();
+        request.setTaskId(1L);
+        request.setEntryDate(date);
+        request.setStartTime(LocalTime.of(startHour, startMinute));
+        request.setEndTime(LocalTime.of(endHour, endMinute));
+        return request;
+    }
+}
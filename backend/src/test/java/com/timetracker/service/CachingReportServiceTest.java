@@ -0,0 +1,116 @@
+package com.timetracker.service;
+
+import com.timetracker.cache.ReportCache;
+import com.timetracker.dto.mapper.ReportResponseMapperImpl;
+import com.timetracker.dto.response.DailySummaryResponse;
+import com.timetracker.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cached reports are shared between requests, so what a caller does with its copy never shows up in
+ * the next caller's.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingReportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private UserService userService;
+
+    private ReportCache reportCache;
+    private CachingReportService cachingReportService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        when(userService.getCurrentUser()).thenReturn(user);
+
+        reportCache = new ReportCache(new SimpleMeterRegistry(), true, 10, Duration.ofMinutes(10), false);
+        cachingReportService = new CachingReportService(reportService, reportCache, userService,
+                new ReportResponseMapperImpl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportCache.shutdown();
+    }
+
+    @Test
+    void mapReportsAreReadOnlyAllTheWayDown() {
+        Map<String, Object> task = new HashMap<>();
+        task.put("taskTitle", "Backend");
+        task.put("taskColor", null);
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalMinutes", 90);
+        statistics.put("mostUsedTask", null);
+        statistics.put("taskBreakdown", new ArrayList<>(List.of(task)));
+        when(reportService.getStatistics(user, START, END)).thenReturn(statistics);
+
+        Map<String, Object> first = cachingReportService.getStatistics(START, END);
+        Map<String, Object> second = cachingReportService.getStatistics(START, END);
+
+        assertThat(second).isSameAs(first).isEqualTo(statistics).containsEntry("mostUsedTask", null);
+        assertThatThrownBy(() -> first.put("totalMinutes", 0)).isInstanceOf(UnsupportedOperationException.class);
+        List<?> breakdown = (List<?>) first.get("taskBreakdown");
+        assertThatThrownBy(breakdown::clear).isInstanceOf(UnsupportedOperationException.class);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> cachedTask = (Map<String, Object>) breakdown.get(0);
+        assertThatThrownBy(() -> cachedTask.put("taskTitle", "x")).isInstanceOf(UnsupportedOperationException.class);
+
+        // Nor does the cached copy change with the map the report was built in
+        task.put("taskTitle", "Frontend");
+        assertThat(cachedTask).containsEntry("taskTitle", "Backend");
+        verify(reportService, times(1)).getStatistics(user, START, END);
+    }
+
+    @Test
+    void responsesAreCopiedOnEveryRead() {
+        DailySummaryResponse.CategoryTimeBreakdown category = new DailySummaryResponse.CategoryTimeBreakdown();
+        category.setCategoryTitle("Work");
+        category.setTotalMinutes(90);
+        DailySummaryResponse summary = new DailySummaryResponse();
+        summary.setDate(START);
+        summary.setTotalMinutes(90);
+        summary.setCategoryBreakdowns(new ArrayList<>(List.of(category)));
+        summary.setWarnings(new ArrayList<>());
+        when(reportService.getDailySummary(user, START)).thenReturn(summary);
+
+        DailySummaryResponse first = cachingReportService.getDailySummary(START);
+        first.setTotalMinutes(0);
+        first.getCategoryBreakdowns().get(0).setTotalMinutes(0);
+        first.getWarnings().add("changed by a caller");
+
+        DailySummaryResponse second = cachingReportService.getDailySummary(START);
+        assertThat(second).isNotSameAs(first).isEqualTo(summary);
+        assertThat(second.getTotalMinutes()).isEqualTo(90);
+        assertThat(second.getCategoryBreakdowns().get(0).getTotalMinutes()).isEqualTo(90);
+        assertThat(second.getWarnings()).isEmpty();
+        verify(reportService, times(1)).getDailySummary(user, START);
+    }
+}
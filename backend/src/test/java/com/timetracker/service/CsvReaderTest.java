@@ -0,0 +1,145 @@
+package com.timetracker.service;
+
+import com.timetracker.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Parsing follows RFC 4180 and reads back whatever {@link CsvWriter} writes, whatever the read sizes.
+ */
+class CsvReaderTest {
+
+    @Test
+    void readsPlainAndQuotedFields() throws IOException {
+        List<List<String>> records = readAll("a,b,c\n\"x, y\",\"say \"\"hi\"\"\",\n,,\n");
+
+        assertThat(records).containsExactly(
+                List.of("a", "b", "c"),
+                List.of("x, y", "say \"hi\"", ""),
+                List.of("", "", ""));
+    }
+
+    @Test
+    void acceptsLineEndingsAndSkipsBlankLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\uFEFFa,b\r\n\r\n\nc,d\re,f"));
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.recordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("c", "d");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).containsExactly("e", "f");
+        assertThat(reader.recordLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void quotedLineBreaksStayInTheFieldAndCountAsLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"two\nlines\",\"cr\r\nlf\"\nnext,row\n"));
+
+        assertThat(reader.next()).containsExactly("two\nlines", "cr\r\nlf");
+        assertThat(reader.next()).containsExactly("next", "row");
+        assertThat(reader.recordLine()).isEqualTo(4);
+    }
+
+    @Test
+    void usesTheGivenDelimiter() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\tb,c\t\"d\te\"\n"), '\t');
+
+        assertThat(reader.next()).containsExactly("a", "b,c", "d\te");
+    }
+
+    @Test
+    void unclosedQuoteIsRejected() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("ok,row\n\"never closed,\nstill open"));
+
+        assertThat(reader.next()).containsExactly("ok", "row");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("line 2 is not closed");
+    }
+
+    @Test
+    void oversizedFieldIsRejected() {
+        CsvReader reader = new CsvReader(new StringReader("x".repeat(64 * 1024 + 1)));
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("exceeds");
+    }
+
+    @Test
+    void readsBackWhatCsvWriterWrites() throws IOException {
+        List<List<String>> rows = List.of(
+                List.of("plain", "with, comma", "with \"quotes\""),
+                List.of("two\nlines", "cr\rlf\r\n", "Café — 日本 🚀"),
+                List.of("", "x".repeat(10_000), "\"\",,\n"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, 64);
+        for (List<String> row : rows) {
+            for (String value : row) {
+                writer.field(value);
+            }
+            writer.endRow();
+        }
+        writer.flush();
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertThat(readAll(csv)).isEqualTo(rows);
+        // The buffer is refilled in the middle of quotes, escapes and CRLF pairs
+        assertThat(readAll(new TrickleReader(csv, 1))).isEqualTo(rows);
+        assertThat(readAll(new TrickleReader(csv, 7))).isEqualTo(rows);
+    }
+
+    // Helpers
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        return readAll(new StringReader(csv));
+    }
+
+    private static List<List<String>> readAll(Reader input) throws IOException {
+        CsvReader reader = new CsvReader(input);
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    // Hands out at most a few chars per read, like a slow network stream
+    private static final class TrickleReader extends Reader {
+        private final String text;
+        private final int chunk;
+        private int position;
+
+        private TrickleReader(String text, int chunk) {
+            this.text = text;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(length, chunk), text.length() - position);
+            text.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
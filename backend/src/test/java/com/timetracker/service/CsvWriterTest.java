@@ -0,0 +1,163 @@
+package com.timetracker.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CsvWriter must produce the same bytes as the PrintWriter.printf encoder it replaced (kept below as
+ * {@link #legacyRow}), except that lines always end in \n and carriage returns are quoted too.
+ */
+class CsvWriterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 9);
+    private static final LocalTime START = LocalTime.of(9, 5);
+    private static final LocalTime END = LocalTime.of(10, 50);
+
+    private static final List<String> TEXTS = List.of(
+            "",
+            "Backend",
+            "Planning, review",
+            "Said \"hi\"",
+            "\"",
+            "two\nlines",
+            "Café crème — 10 €",
+            "日本語のタスク",
+            "Deploy 🚀 done 👍",
+            "broken \uD83D surrogate",
+            ",\"\n,\"\n");
+
+    @Test
+    void matchesLegacyEncoderForEveryTextField() throws IOException {
+        for (String text : TEXTS) {
+            for (int minutes : new int[]{0, 15, 45, 60, 135, 1440}) {
+                assertThat(write(8192, text, minutes))
+                        .as("%s / %d minutes", text, minutes)
+                        .isEqualTo(legacyRow(text, minutes));
+            }
+        }
+    }
+
+    @Test
+    void nullTextIsEmpty() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out);
+        writer.field((String) null).field((LocalDate) null).field((LocalTime) null).field("x").endRow().flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(",,,x\n");
+    }
+
+    @Test
+    void carriageReturnsAreQuoted() throws IOException {
+        // The legacy encoder left "a\rb" unquoted, which readers split into two records
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out);
+        writer.field("a\rb").field("c\r\nd").endRow().flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("\"a\rb\",\"c\r\nd\"\n");
+    }
+
+    @Test
+    void numbersAndDatesMatchJdkFormatting() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out);
+        writer.field(0L).field(-42L).field(Long.MAX_VALUE).field(Long.MIN_VALUE)
+                .field(LocalDate.of(7, 1, 2)).field(LocalDate.of(9999, 12, 31))
+                .field(LocalTime.MIDNIGHT).field(LocalTime.of(23, 59, 59))
+                .endRow().flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(String.join(",",
+                "0", "-42", Long.toString(Long.MAX_VALUE), Long.toString(Long.MIN_VALUE),
+                "0007-01-02", "9999-12-31", "00:00", "23:59") + "\n");
+    }
+
+    @Test
+    void fieldsLargerThanTheBufferMatchLegacyEncoder() throws IOException {
+        // 64 bytes is the smallest buffer; anything over 20 chars takes the chunked path there
+        for (String text : TEXTS) {
+            String large = text.repeat(40) + "tail";
+            assertThat(write(64, large, 75)).as(text).isEqualTo(legacyRow(large, 75));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {64, 65, 67, 71, 97, 128, 333})
+    void rowsSplitAcrossBufferDrainsMatchLegacyEncoder(int bufferSize) throws IOException {
+        // Varying lengths move every field and multi-byte sequence across the drain boundary
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, bufferSize);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 200; i++) {
+            String text = "x".repeat(i % 13) + TEXTS.get(i % TEXTS.size());
+            int minutes = i * 7;
+            writeRow(writer, text, minutes);
+            expected.writeBytes(legacyRow(text, minutes));
+        }
+        writer.flush();
+
+        assertThat(out.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    // Helpers
+
+    private static byte[] write(int bufferSize, String text, int minutes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, bufferSize);
+        writeRow(writer, text, minutes);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    // Same field order as ExportService's time entry export
+    private static void writeRow(CsvWriter writer, String text, int minutes) throws IOException {
+        writer.field(DAY).field(START).field(END).field(minutes).duration(minutes)
+                .field(text).field("Work").field(text).field("Yes")
+                .endRow();
+    }
+
+    // The previous encoder: String.format over escaped values, encoded by an OutputStreamWriter
+    private static byte[] legacyRow(String text, int minutes) {
+        String row = String.format("%s,%s,%s,%d,%s,%s,%s,%s,%s\n",
+                DAY.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+                START.format(DateTimeFormatter.ofPattern("HH:mm")),
+                END.format(DateTimeFormatter.ofPattern("HH:mm")),
+                minutes, legacyFormatMinutes(minutes),
+                legacyEscape(text), legacyEscape("Work"), legacyEscape(text), "Yes");
+        return row.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String legacyEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String legacyFormatMinutes(int minutes) {
+        if (minutes == 0) {
+            return "0m";
+        }
+        int hours = minutes / 60;
+        int remainingMinutes = minutes % 60;
+        if (hours == 0) {
+            return remainingMinutes + "m";
+        } else if (remainingMinutes == 0) {
+            return hours + "h";
+        } else {
+            return hours + "h " + remainingMinutes + "m";
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.timetracker.service;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.timetracker.cache.ExportFileCache;
+import com.timetracker.entity.Category;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import com.timetracker.exception.ValidationException;
+import com.timetracker.repository.DailyTaskTotalRepository;
+import com.timetracker.repository.TimeEntryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Compressed exports decompress to the plain export and carry the matching headers. Size and
+ * throughput per codec are measured by {@link com.timetracker.benchmark.ExportCompressionBenchmark}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportCompressionTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    @Mock
+    private TimeEntryRepository timeEntryRepository;
+
+    @Mock
+    private DailyTaskTotalRepository dailyTaskTotalRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ExportFileCache exportFileCache;
+
+    private ExportService exportService;
+    private User user;
+    private List<TimeEntry> entries;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setEmail("admin@localhost");
+
+        Category category = new Category();
+        category.setId(1L);
+        category.setTitle("Work");
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Backend");
+        task.setCategory(category);
+
+        String[] descriptions = {null, "Standup", "Fixed bug, deployed", "Reviewed \"auth\" PR", "Café planning"};
+        entries = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            TimeEntry entry = new TimeEntry();
+            entry.setTask(task);
+            entry.setEntryDate(START.plusDays(i / 20));
+            entry.setStartTime(LocalTime.of(8 + i % 10, (i * 7) % 60));
+            entry.setEndTime(entry.getStartTime().plusMinutes(15 + (i * 13) % 45));
+            entry.calculateDurationMinutes();
+            entry.setDescription(descriptions[i % descriptions.length]);
+            entry.setIsBillable(i % 3 == 0);
+            entries.add(entry);
+        }
+
+        lenient().when(userService.getCurrentUser()).thenReturn(user);
+        lenient().when(timeEntryRepository.streamByUserAndEntryDateBetween(user, START, END))
+                .thenAnswer(invocation -> entries.stream());
+
+        exportService = new ExportService(timeEntryRepository, dailyTaskTotalRepository, userService,
+                transactionManager, entityManager, exportFileCache);
+    }
+
+    @Test
+    void compressedExportsRoundTrip() throws IOException {
+        byte[] plain = body(export(ExportCompression.Choice.NONE));
+        assertThat(new String(plain, 0, 4)).isEqualTo("Date");
+
+        for (ExportCompression compression : new ExportCompression[]{ExportCompression.GZIP, ExportCompression.ZSTD}) {
+            for (boolean asFile : new boolean[]{false, true}) {
+                byte[] compressed = body(export(new ExportCompression.Choice(compression, asFile)));
+
+                assertThat(decompress(compression, compressed)).as("%s", compression).isEqualTo(plain);
+                assertThat(compressed.length).as("%s", compression).isLessThan(plain.length);
+            }
+        }
+    }
+
+    @Test
+    void transferEncodingKeepsTheCsvFile() {
+        HttpHeaders headers = export(new ExportCompression.Choice(ExportCompression.ZSTD, false)).getHeaders();
+
+        assertThat(headers.getContentType()).isEqualTo(MediaType.parseMediaType("text/csv"));
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("zstd");
+        assertThat(headers.getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(headers.getContentDisposition().getFilename()).isEqualTo("time_entries_2025-06-01_to_2025-06-30.csv");
+
+        HttpHeaders plain = export(ExportCompression.Choice.NONE).getHeaders();
+        assertThat(plain.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(plain.getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void compressedFileDownloadHasTheCompressedType() {
+        HttpHeaders gzip = export(new ExportCompression.Choice(ExportCompression.GZIP, true)).getHeaders();
+        assertThat(gzip.getContentType()).isEqualTo(MediaType.parseMediaType("application/gzip"));
+        assertThat(gzip.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(gzip.getContentDisposition().getFilename()).isEqualTo("time_entries_2025-06-01_to_2025-06-30.csv.gz");
+
+        HttpHeaders zstd = export(new ExportCompression.Choice(ExportCompression.ZSTD, true)).getHeaders();
+        assertThat(zstd.getContentType()).isEqualTo(MediaType.parseMediaType("application/zstd"));
+        assertThat(zstd.getContentDisposition().getFilename()).isEqualTo("time_entries_2025-06-01_to_2025-06-30.csv.zst");
+    }
+
+    @Test
+    void negotiatesFromAcceptEncoding() {
+        assertThat(ExportCompression.resolve(null, "gzip, deflate, br, zstd"))
+                .isEqualTo(new ExportCompression.Choice(ExportCompression.ZSTD, false));
+        assertThat(ExportCompression.resolve(null, "zstd;q=0, gzip;q=0.8"))
+                .isEqualTo(new ExportCompression.Choice(ExportCompression.GZIP, false));
+        assertThat(ExportCompression.resolve(null, "identity")).isEqualTo(ExportCompression.Choice.NONE);
+        assertThat(ExportCompression.resolve(null, null)).isEqualTo(ExportCompression.Choice.NONE);
+
+        assertThat(ExportCompression.resolve("GZIP", "zstd"))
+                .isEqualTo(new ExportCompression.Choice(ExportCompression.GZIP, true));
+        assertThat(ExportCompression.resolve("none", "gzip")).isEqualTo(ExportCompression.Choice.NONE);
+        assertThatThrownBy(() -> ExportCompression.resolve("brotli", null)).isInstanceOf(ValidationException.class);
+    }
+
+    // Helpers
+
+    private ResponseEntity<StreamingResponseBody> export(ExportCompression.Choice compression) {
+        return exportService.exportTimeEntriesToCsv(START, END, compression);
+    }
+
+    private static byte[] body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(ExportCompression compression, byte[] data) throws IOException {
+        InputStream in = new ByteArrayInputStream(data);
+        try (InputStream decompressed = switch (compression) {
+            case NONE -> in;
+            case GZIP -> new GZIPInputStream(in);
+            case ZSTD -> new ZstdInputStream(in);
+        }) {
+            return decompressed.readAllBytes();
+        }
+    }
+}
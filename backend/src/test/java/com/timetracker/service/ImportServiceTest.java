@@ -0,0 +1,273 @@
+package com.timetracker.service;
+
+import com.timetracker.cache.ExportFileCache;
+import com.timetracker.dto.mapper.TimeEntryMapper;
+import com.timetracker.dto.request.CsvImportMapping;
+import com.timetracker.dto.request.TimeEntryCreateRequest;
+import com.timetracker.dto.response.ImportResponse;
+import com.timetracker.entity.Category;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import com.timetracker.repository.CategoryRepository;
+import com.timetracker.repository.DailyTaskTotalRepository;
+import com.timetracker.repository.TaskRepository;
+import com.timetracker.repository.TimeEntryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * An export imports back unchanged, and rows without a category land in the default category
+ * without ever creating a second "General".
+ */
+@ExtendWith(MockitoExtension.class)
+class ImportServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 9);
+    private static final String HEADER =
+            "Date,Start Time,End Time,Duration (minutes),Duration (formatted),Task,Category,Description,Billable\n";
+
+    @Mock
+    private TimeEntryRepository timeEntryRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private DailyTaskTotalRepository dailyTaskTotalRepository;
+
+    @Mock
+    private TimeEntryMapper timeEntryMapper;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private LiveTimerService liveTimerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ExportFileCache exportFileCache;
+
+    private ImportService importService;
+    private ExportService exportService;
+    private User user;
+
+    // What the import wrote, by id
+    private final AtomicLong ids = new AtomicLong(100);
+    private final Map<Long, Category> categories = new HashMap<>();
+    private final Map<Long, Task> tasks = new HashMap<>();
+    private final List<TimeEntry> imported = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setEmail("admin@localhost");
+
+        lenient().when(userService.getCurrentUser()).thenReturn(user);
+        lenient().when(timeEntryMapper.toEntity(any(TimeEntryCreateRequest.class))).thenAnswer(invocation -> {
+            TimeEntryCreateRequest request = invocation.getArgument(0);
+            TimeEntry entry = new TimeEntry();
+            entry.setEntryDate(request.getEntryDate());
+            entry.setStartTime(request.getStartTime());
+            entry.setEndTime(request.getEndTime());
+            entry.setDescription(request.getDescription());
+            entry.setIsBillable(request.getIsBillable());
+            return entry;
+        });
+        lenient().when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            category.setId(ids.incrementAndGet());
+            categories.put(category.getId(), category);
+            return category;
+        });
+        lenient().when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            task.setId(ids.incrementAndGet());
+            tasks.put(task.getId(), task);
+            return task;
+        });
+        lenient().when(timeEntryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TimeEntry> entries = invocation.getArgument(0);
+            imported.addAll(entries);
+            return entries;
+        });
+        lenient().when(entityManager.getReference(eq(User.class), any())).thenReturn(user);
+        lenient().when(entityManager.getReference(eq(Category.class), any()))
+                .thenAnswer(invocation -> category(invocation.getArgument(1), null));
+        lenient().when(entityManager.getReference(eq(Task.class), any()))
+                .thenAnswer(invocation -> tasks.get((Long) invocation.getArgument(1)));
+
+        importService = new ImportService(timeEntryRepository, taskRepository, categoryRepository, timeEntryMapper,
+                userService, categoryService, new BulkIntervalValidator(timeEntryRepository, 0), dailyRollupService,
+                liveTimerService, eventPublisher, transactionManager, entityManager);
+        exportService = new ExportService(timeEntryRepository, dailyTaskTotalRepository, userService,
+                transactionManager, entityManager, exportFileCache);
+    }
+
+    @Test
+    void exportedEntriesImportBackUnchanged() throws IOException {
+        Category work = category(1L, "Work");
+        Category personal = category(2L, "Personal, misc");
+        Task backend = task(10L, "Backend", work);
+        Task meetings = task(11L, "Meetings \"sync\"", work);
+        Task reading = task(12L, "Lesen — Bücher", personal);
+        List<TimeEntry> originals = List.of(
+                entry(backend, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 30), "Review, \"API\" — naïve 🚀", true),
+                entry(meetings, MONDAY, LocalTime.of(10, 30), LocalTime.of(11, 0), "Standup\nnotes", false),
+                entry(reading, MONDAY.plusDays(1), LocalTime.of(20, 0), LocalTime.of(21, 15), null, false));
+        when(timeEntryRepository.streamByUserAndEntryDateBetween(user, MONDAY, MONDAY.plusDays(1)))
+                .thenReturn(originals.stream());
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exportService.exportTimeEntriesToCsv(MONDAY, MONDAY.plusDays(1), ExportCompression.Choice.NONE)
+                .getBody().writeTo(csv);
+        ImportResponse response = importService.importTimeEntriesFromCsv(
+                new ByteArrayInputStream(csv.toByteArray()), new CsvImportMapping());
+
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(response.getTotalRows()).isEqualTo(3L);
+        assertThat(response.getImportedCount()).isEqualTo(3L);
+        assertThat(response.getCreatedCategories()).isEqualTo(2);
+        assertThat(response.getCreatedTasks()).isEqualTo(3);
+
+        assertThat(imported).hasSameSizeAs(originals);
+        for (int i = 0; i < originals.size(); i++) {
+            TimeEntry original = originals.get(i);
+            TimeEntry copy = imported.get(i);
+            assertThat(copy.getEntryDate()).isEqualTo(original.getEntryDate());
+            assertThat(copy.getStartTime()).isEqualTo(original.getStartTime());
+            assertThat(copy.getEndTime()).isEqualTo(original.getEndTime());
+            assertThat(copy.getDurationMinutes()).isEqualTo(original.getDurationMinutes());
+            assertThat(copy.getDescription()).isEqualTo(original.getDescription());
+            assertThat(copy.getIsBillable()).isEqualTo(original.getIsBillable());
+
+            Task task = tasks.get(copy.getTask().getId());
+            assertThat(task.getTitle()).isEqualTo(original.getTask().getTitle());
+            assertThat(categories.get(task.getCategory().getId()).getTitle())
+                    .isEqualTo(original.getTask().getCategory().getTitle());
+        }
+    }
+
+    @Test
+    void rowsWithoutCategoryUseAnExistingGeneralCategory() throws IOException {
+        // "General" exists but is not the default, so creating the default would clash with its title
+        Category general = category(5L, CategoryService.DEFAULT_CATEGORY_TITLE);
+        when(categoryRepository.findByUserOrderBySortOrderAscTitleAsc(user)).thenReturn(List.of(general));
+
+        ImportResponse response = importCsv(HEADER
+                + "2025-06-09,09:00,10:00,60,1h,Backend,,,No\n"
+                + "2025-06-10,09:00,10:00,60,1h,Backend,General,,No\n");
+
+        assertThat(response.getImportedCount()).isEqualTo(2L);
+        assertThat(response.getCreatedCategories()).isZero();
+        assertThat(response.getCreatedTasks()).isEqualTo(1);
+        verify(categoryService, never()).getOrCreateDefaultCategory(any());
+        assertThat(imported).allSatisfy(entry ->
+                assertThat(tasks.get(entry.getTask().getId()).getCategory().getId()).isEqualTo(5L));
+    }
+
+    @Test
+    void createdDefaultCategoryIsReusedByItsTitle() throws IOException {
+        Category created = category(9L, CategoryService.DEFAULT_CATEGORY_TITLE);
+        created.setIsDefault(true);
+        when(categoryService.getOrCreateDefaultCategory(user)).thenReturn(created);
+
+        ImportResponse response = importCsv(HEADER
+                + "2025-06-09,09:00,10:00,60,1h,Backend,,,No\n"
+                + "2025-06-09,10:00,11:00,60,1h,Backend,General,,No\n");
+
+        assertThat(response.getImportedCount()).isEqualTo(2L);
+        assertThat(response.getCreatedCategories()).isZero();
+        verify(categoryRepository, never()).save(any(Category.class));
+        assertThat(imported).allSatisfy(entry ->
+                assertThat(tasks.get(entry.getTask().getId()).getCategory().getId()).isEqualTo(9L));
+    }
+
+    // Helpers
+
+    private ImportResponse importCsv(String csv) throws IOException {
+        return importService.importTimeEntriesFromCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), new CsvImportMapping());
+    }
+
+    private Category category(Long id, String title) {
+        Category category = categories.get(id);
+        if (category == null) {
+            category = new Category();
+            category.setId(id);
+            category.setUser(user);
+            category.setTitle(title);
+            categories.put(id, category);
+        }
+        return category;
+    }
+
+    private static Task task(Long id, String title, Category category) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setColor("#3498db");
+        task.setCategory(category);
+        return task;
+    }
+
+    private TimeEntry entry(Task task, LocalDate date, LocalTime startTime, LocalTime endTime,
+                            String description, boolean billable) {
+        TimeEntry entry = new TimeEntry();
+        entry.setUser(user);
+        entry.setTask(task);
+        entry.setEntryDate(date);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.calculateDurationMinutes();
+        entry.setDescription(description);
+        entry.setIsBillable(billable);
+        return entry;
+    }
+}
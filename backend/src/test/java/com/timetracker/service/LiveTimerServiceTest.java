@@ -0,0 +1,272 @@
+package com.timetracker.service;
+
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import com.timetracker.event.TimeEntriesChangedEvent;
+import com.timetracker.exception.ValidationException;
+import com.timetracker.repository.TimeEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Heartbeats are checked against the bounds loaded once per timer, are only written on flush, and are
+ * never lost to a flush running at the same time.
+ */
+@ExtendWith(MockitoExtension.class)
+class LiveTimerServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 9);
+
+    @Mock
+    private TimeEntryRepository timeEntryRepository;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LiveTimerService liveTimerService;
+    private User user;
+    private TimeEntry running;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+
+        Task task = new Task();
+        task.setId(100L);
+
+        // Running from 9:00 (stored until 9:30); the next entry of the day starts at 12:00
+        running = entry(10L, task, LocalTime.of(9, 0), LocalTime.of(9, 30));
+        TimeEntry next = entry(11L, task, LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+        lenient().when(userService.getCurrentUser()).thenReturn(user);
+        lenient().when(timeEntryRepository.findById(10L)).thenReturn(Optional.of(running));
+        lenient().when(timeEntryRepository.findFirstByUserAndEntryDateAndStartTimeGreaterThanOrderByStartTimeAsc(
+                user, DAY, LocalTime.of(9, 0))).thenReturn(Optional.of(next));
+        lenient().when(timeEntryRepository.getTotalMinutesForDate(user, DAY))
+                .thenReturn(running.getDurationMinutes() + next.getDurationMinutes());
+
+        liveTimerService = new LiveTimerService(timeEntryRepository, dailyRollupService, userService,
+                eventPublisher, transactionManager);
+    }
+
+    @Test
+    void heartbeatsStayInMemoryUntilFlushed() {
+        liveTimerService.heartbeat(10L, LocalTime.of(9, 45));
+        liveTimerService.heartbeat(10L, LocalTime.of(10, 0));
+
+        // Bounds are loaded once; nothing is written yet
+        verify(timeEntryRepository, times(1)).findById(10L);
+        verify(timeEntryRepository, times(1)).getTotalMinutesForDate(user, DAY);
+        verify(timeEntryRepository, never()).flush();
+        assertThat(running.getEndTime()).isEqualTo(LocalTime.of(9, 30));
+        assertThat(liveTimerService.pendingEndTime(1L)).hasValueSatisfying(pending -> {
+            assertThat(pending.endTime()).isEqualTo(LocalTime.of(10, 0));
+            assertThat(pending.extraMinutes()).isEqualTo(30);
+        });
+
+        liveTimerService.flush(1L);
+
+        assertThat(running.getEndTime()).isEqualTo(LocalTime.of(10, 0));
+        assertThat(running.getDurationMinutes()).isEqualTo(60);
+        verify(dailyRollupService).recordUpdated(any(DailyRollupService.Contribution.class), any(TimeEntry.class));
+        verify(eventPublisher).publishEvent(TimeEntriesChangedEvent.of(1L, DAY));
+        assertThat(liveTimerService.pendingEndTime(1L)).isEmpty();
+        assertThat(liveTimerService.hasTimers()).isFalse();
+
+        // A flushed timer is forgotten: the next heartbeat loads its bounds again
+        liveTimerService.heartbeat(10L, LocalTime.of(10, 15));
+        verify(timeEntryRepository, times(2)).findFirstByUserAndEntryDateAndStartTimeGreaterThanOrderByStartTimeAsc(
+                user, DAY, LocalTime.of(9, 0));
+        verify(timeEntryRepository, times(2)).getTotalMinutesForDate(user, DAY);
+    }
+
+    @Test
+    void unchangedTimerIsNotWritten() {
+        liveTimerService.heartbeat(10L, LocalTime.of(9, 30));
+        liveTimerService.flush(1L);
+
+        verify(timeEntryRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void heartbeatsAreCheckedAgainstTheEntryBounds() {
+        assertThatThrownBy(() -> liveTimerService.heartbeat(10L, LocalTime.of(8, 30)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Start time must be before end time");
+        assertThatThrownBy(() -> liveTimerService.heartbeat(10L, LocalTime.of(9, 10)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Minimum time entry duration");
+        assertThatThrownBy(() -> liveTimerService.heartbeat(10L, LocalTime.of(12, 1)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("overlaps");
+
+        // Up to the next entry's start is fine, and rejected heartbeats left nothing pending
+        assertThat(liveTimerService.pendingEndTime(1L)).isEmpty();
+        liveTimerService.heartbeat(10L, LocalTime.of(12, 0));
+        assertThat(liveTimerService.pendingEndTime(1L)).map(LiveTimerService.PendingEndTime::endTime)
+                .hasValue(LocalTime.of(12, 0));
+    }
+
+    @Test
+    void heartbeatsAreCheckedAgainstTheDailyLimit() {
+        // The day's other entries already add up to 23 hours, the running one to 30 minutes
+        when(timeEntryRepository.getTotalMinutesForDate(user, DAY)).thenReturn(23 * 60 + 30);
+
+        liveTimerService.heartbeat(10L, LocalTime.of(10, 0));
+        assertThatThrownBy(() -> liveTimerService.heartbeat(10L, LocalTime.of(10, 1)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Daily total cannot exceed 24 hours");
+
+        // The rejected heartbeat kept the last accepted end time
+        assertThat(liveTimerService.pendingEndTime(1L)).map(LiveTimerService.PendingEndTime::endTime)
+                .hasValue(LocalTime.of(10, 0));
+    }
+
+    @Test
+    void flushOnlyWritesTimersOnTheGivenDays() {
+        liveTimerService.heartbeat(10L, LocalTime.of(10, 0));
+
+        liveTimerService.flush(1L, List.of(DAY.plusDays(1)));
+        assertThat(liveTimerService.pendingEndTime(1L)).isPresent();
+
+        liveTimerService.flush(1L, List.of(DAY));
+        assertThat(liveTimerService.pendingEndTime(1L)).isEmpty();
+        assertThat(running.getEndTime()).isEqualTo(LocalTime.of(10, 0));
+    }
+
+    @Test
+    void discardedTimerIsNotWritten() {
+        liveTimerService.heartbeat(10L, LocalTime.of(10, 0));
+        liveTimerService.discard(1L, 10L);
+        liveTimerService.flush(1L);
+
+        assertThat(running.getEndTime()).isEqualTo(LocalTime.of(9, 30));
+        verify(timeEntryRepository, never()).flush();
+    }
+
+    @Test
+    void failedStopIsReportedButScheduledFlushOnlyLogs() {
+        doThrow(new DataIntegrityViolationException("Time entry overlaps with existing entry"))
+                .when(timeEntryRepository).flush();
+
+        assertThatThrownBy(() -> liveTimerService.stop(10L, LocalTime.of(10, 0)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("could not be saved");
+        assertThat(liveTimerService.hasTimers()).isFalse();
+        running.setEndTime(LocalTime.of(9, 30)); // as rolled back
+
+        liveTimerService.heartbeat(10L, LocalTime.of(10, 0));
+        liveTimerService.flushAll();
+        verify(timeEntryRepository, times(2)).flush();
+        assertThat(liveTimerService.hasTimers()).isFalse();
+    }
+
+    @Test
+    void concurrentHeartbeatsRegisterOneTimer() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                LocalTime endTime = LocalTime.of(10, i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    liveTimerService.heartbeat(10L, endTime);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(liveTimerService.pendingEndTime(1L)).map(LiveTimerService.PendingEndTime::endTime)
+                .hasValueSatisfying(endTime -> assertThat(endTime).isBetween(LocalTime.of(10, 0), LocalTime.of(10, 7)));
+    }
+
+    @Test
+    void heartbeatsRacingFlushesAreNeverLost() throws Exception {
+        AtomicBoolean done = new AtomicBoolean();
+        Thread flusher = new Thread(() -> {
+            while (!done.get()) {
+                liveTimerService.flush(1L);
+            }
+        });
+        flusher.start();
+
+        // One minute later each time, from 9:30 up to 11:59; each lands in a timer that is either
+        // written by a later flush or still pending at the end
+        LocalTime last = LocalTime.of(9, 30);
+        try {
+            for (int minute = 1; minute < 150; minute++) {
+                last = LocalTime.of(9, 30).plusMinutes(minute);
+                liveTimerService.heartbeat(10L, last);
+            }
+        } finally {
+            done.set(true);
+            flusher.join(10_000);
+        }
+        liveTimerService.flush(1L);
+
+        assertThat(running.getEndTime()).isEqualTo(last);
+        assertThat(liveTimerService.hasTimers()).isFalse();
+    }
+
+    // Helpers
+
+    private TimeEntry entry(Long id, Task task, LocalTime startTime, LocalTime endTime) {
+        TimeEntry entry = new TimeEntry();
+        entry.setId(id);
+        entry.setUser(user);
+        entry.setTask(task);
+        entry.setEntryDate(DAY);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.calculateDurationMinutes();
+        return entry;
+    }
+}
@@ -0,0 +1,191 @@
+package com.timetracker.service;
+
+import com.timetracker.dto.mapper.TimeEntryMapperImpl;
+import com.timetracker.dto.response.DailySummaryResponse;
+import com.timetracker.dto.response.WeeklySummaryResponse;
+import com.timetracker.entity.Category;
+import com.timetracker.entity.DailyTaskTotal;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Report generation must never initialize the entities' lazy collections. The reports run against a
+ * real persistence context (in-memory H2, schema from the mappings), and every collection reachable
+ * from what they loaded is checked afterwards.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ReportService.class, ValidationService.class, TimeEntryMapperImpl.class})
+class ReportCollectionInitializationTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 9);
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReportService reportService;
+
+    @MockBean
+    private UserService userService;
+
+    private Long userId;
+    private Long categoryId;
+    private Long workId;
+    private Long meetingId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("admin@localhost");
+        user.setName("Local Admin");
+        entityManager.persist(user);
+
+        Category category = new Category();
+        category.setUser(user);
+        category.setTitle("General");
+        entityManager.persist(category);
+
+        Task work = task(category, "Work", "#3498db");
+        Task meeting = task(category, "Meeting", "#e74c3c");
+
+        entry(user, work, MONDAY, 9, 12);
+        entry(user, meeting, MONDAY, 13, 14);
+        entry(user, work, MONDAY.plusDays(5), 10, 11);
+        total(user, work, MONDAY, 180);
+        total(user, meeting, MONDAY, 60);
+        total(user, work, MONDAY.plusDays(5), 60);
+
+        userId = user.getId();
+        categoryId = category.getId();
+        workId = work.getId();
+        meetingId = meeting.getId();
+
+        // Reports start from an empty persistence context, as in a fresh request
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void summariesDoNotInitializeCollections() {
+        User user = entityManager.find(User.class, userId);
+
+        DailySummaryResponse daily = reportService.getDailySummary(user, MONDAY);
+        WeeklySummaryResponse weekly = reportService.getWeeklySummary(user, MONDAY);
+
+        assertThat(daily.getTotalMinutes()).isEqualTo(240);
+        assertThat(daily.getTimeEntries()).hasSize(2);
+        assertThat(weekly.getTotalMinutes()).isEqualTo(300);
+        assertThat(weekly.getDailySummaries()).hasSize(7);
+        assertThat(weekly.getTaskBreakdowns()).extracting("taskTitle").containsExactly("Work", "Meeting");
+        assertThat(weekly.getCategoryBreakdowns()).extracting("totalMinutes").containsExactly(300);
+        assertNoCollectionInitialized();
+    }
+
+    @Test
+    void statisticsAndInsightsDoNotInitializeCollections() {
+        User user = entityManager.find(User.class, userId);
+
+        Map<String, Object> stats = reportService.getStatistics(user, MONDAY, SUNDAY);
+        Map<String, Object> enhanced = reportService.getEnhancedStatistics(user, MONDAY, SUNDAY);
+        Map<String, Object> insights = reportService.getProductivityInsights(user, MONDAY, SUNDAY);
+
+        assertThat(stats).containsEntry("totalMinutes", 300).containsEntry("daysTracked", 2L);
+        assertThat(enhanced).containsEntry("weekdayMinutes", 240).containsEntry("weekendMinutes", 60);
+        assertThat(insights).containsKey("mostProductiveDay");
+        assertNoCollectionInitialized();
+    }
+
+    @Test
+    void entityIdentityDoesNotTouchAssociations() {
+        Task work = entityManager.find(Task.class, workId);
+        Task staleCopy = new Task();
+        staleCopy.setId(workId);
+        staleCopy.setTitle("Work (stale copy)");
+
+        Map<Task, Integer> minutesByTask = new HashMap<>();
+        minutesByTask.merge(work, 60, Integer::sum);
+        minutesByTask.merge(staleCopy, 30, Integer::sum);
+        minutesByTask.merge(entityManager.find(Task.class, meetingId), 15, Integer::sum);
+
+        assertThat(minutesByTask).hasSize(2).containsEntry(work, 90);
+        assertThat(work.toString()).contains("Work").doesNotContain("timeEntries");
+        assertThat(new Task()).isNotEqualTo(new Task());
+
+        // An uninitialized proxy compares by id without being loaded
+        Category proxy = entityManager.getEntityManager().getReference(Category.class, categoryId);
+        Category sameCategory = new Category();
+        sameCategory.setId(categoryId);
+        assertThat(sameCategory.equals(proxy)).isTrue();
+        assertThat(Hibernate.isInitialized(proxy)).isFalse();
+
+        assertNoCollectionInitialized();
+    }
+
+    // Helpers
+
+    private void assertNoCollectionInitialized() {
+        User user = entityManager.find(User.class, userId);
+        assertThat(Hibernate.isInitialized(user.getCategories())).as("User.categories").isFalse();
+        assertThat(Hibernate.isInitialized(user.getTimeEntries())).as("User.timeEntries").isFalse();
+
+        Category category = entityManager.find(Category.class, categoryId);
+        assertThat(Hibernate.isInitialized(category.getTasks())).as("Category.tasks").isFalse();
+
+        for (Long taskId : List.of(workId, meetingId)) {
+            Task task = entityManager.find(Task.class, taskId);
+            assertThat(Hibernate.isInitialized(task.getTimeEntries())).as("Task.timeEntries").isFalse();
+        }
+    }
+
+    private Task task(Category category, String title, String color) {
+        Task task = new Task();
+        task.setCategory(category);
+        task.setTitle(title);
+        task.setColor(color);
+        return entityManager.persist(task);
+    }
+
+    private void entry(User user, Task task, LocalDate date, int startHour, int endHour) {
+        TimeEntry entry = new TimeEntry();
+        entry.setUser(user);
+        entry.setTask(task);
+        entry.setEntryDate(date);
+        entry.setStartTime(LocalTime.of(startHour, 0));
+        entry.setEndTime(LocalTime.of(endHour, 0));
+        entry.calculateDurationMinutes();
+        entityManager.persist(entry);
+    }
+
+    private void total(User user, Task task, LocalDate date, int minutes) {
+        DailyTaskTotal total = new DailyTaskTotal();
+        total.setUser(user);
+        total.setTask(task);
+        total.setEntryDate(date);
+        total.setTotalMinutes(minutes);
+        total.setEntryCount(1);
+        total.setBillableMinutes(0);
+        entityManager.persist(total);
+    }
+}
@@ -0,0 +1,268 @@
+package com.timetracker.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.timetracker.dto.mapper.TimeEntryMapper;
+import com.timetracker.dto.response.ApiResponse;
+import com.timetracker.dto.response.TimeEntryValidationResponse;
+import com.timetracker.entity.Category;
+import com.timetracker.entity.DailyTaskTotal;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import com.timetracker.entity.User;
+import com.timetracker.repository.DailyTaskTotalRepository;
+import com.timetracker.repository.TimeEntryRepository;
+import com.timetracker.repository.projection.DailySummaryRow;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statistics, enhanced statistics and insights are all produced from a single pass over one cursor,
+ * with the same figures the grouped queries used to give; daily range summaries are built one day at a
+ * time as they are written.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    private static final LocalDate FRIDAY = LocalDate.of(2025, 6, 13);
+    private static final LocalDate SATURDAY = FRIDAY.plusDays(1);
+
+    @Mock
+    private TimeEntryRepository timeEntryRepository;
+
+    @Mock
+    private DailyTaskTotalRepository dailyTaskTotalRepository;
+
+    @Mock
+    private TimeEntryMapper timeEntryMapper;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ValidationService validationService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private User user;
+    private Task backend;
+    private Task frontend;
+    private Task reading;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+
+        // Two different categories share the title "Work"
+        Category work = category(10L, "Work");
+        Category otherWork = category(11L, "Work");
+        Category home = category(12L, "Home");
+        backend = task(100L, "Backend", work);
+        frontend = task(101L, "Frontend", otherWork);
+        reading = task(102L, "Reading", home);
+    }
+
+    @Test
+    void categoryDistributionSumsCategoriesWithTheSameTitle() {
+        when(dailyTaskTotalRepository.streamByUserAndEntryDateBetween(user, FRIDAY, SATURDAY)).thenReturn(Stream.of(
+                total(backend, FRIDAY, 60, 1),
+                total(frontend, FRIDAY, 30, 1),
+                total(reading, SATURDAY, 30, 1)));
+
+        Map<String, Object> insights = reportService.getProductivityInsights(user, FRIDAY, SATURDAY);
+
+        assertThat(insights.get("categoryDistribution")).isEqualTo(Map.of("Work", "75.0%", "Home", "25.0%"));
+    }
+
+    @Test
+    void enhancedStatisticsComeFromOneEntryCursor() {
+        when(timeEntryRepository.streamByUserAndEntryDateBetween(user, FRIDAY, SATURDAY)).thenReturn(Stream.of(
+                entry(backend, FRIDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)),
+                entry(backend, FRIDAY, LocalTime.of(13, 0), LocalTime.of(13, 30)),
+                entry(frontend, FRIDAY, LocalTime.of(14, 0), LocalTime.of(14, 45)),
+                entry(reading, SATURDAY, LocalTime.of(10, 0), LocalTime.of(11, 15))));
+
+        Map<String, Object> stats = reportService.getEnhancedStatistics(user, FRIDAY, SATURDAY);
+
+        assertThat(stats).containsEntry("totalMinutes", 270)
+                .containsEntry("totalEntries", 4)
+                .containsEntry("daysTracked", 2L)
+                .containsEntry("weekdayMinutes", 195)
+                .containsEntry("weekendMinutes", 75)
+                .containsEntry("averageSession", 67.5)
+                .containsEntry("longestSession", 120);
+        assertThat(stats.get("mostUsedTask")).isEqualTo(Map.of(
+                "id", 100L, "title", "Backend", "categoryTitle", "Work", "minutes", 150, "timeFormatted", "2h 30m"));
+
+        assertThat(stats.get("taskBreakdown")).asList().containsExactly(
+                Map.of("taskId", 100L, "taskTitle", "Backend", "taskColor", "#3498db", "categoryTitle", "Work",
+                        "totalMinutes", 150, "timeFormatted", "2h 30m", "entryCount", 2),
+                Map.of("taskId", 102L, "taskTitle", "Reading", "taskColor", "#3498db", "categoryTitle", "Home",
+                        "totalMinutes", 75, "timeFormatted", "1h 15m", "entryCount", 1),
+                Map.of("taskId", 101L, "taskTitle", "Frontend", "taskColor", "#3498db", "categoryTitle", "Work",
+                        "totalMinutes", 45, "timeFormatted", "45m", "entryCount", 1));
+        // The breakdown keeps categories apart by id, even with the same title
+        assertThat(stats.get("categoryBreakdown")).asList().containsExactly(
+                Map.of("categoryId", 10L, "categoryTitle", "Work", "totalMinutes", 150, "timeFormatted", "2h 30m",
+                        "entryCount", 2),
+                Map.of("categoryId", 12L, "categoryTitle", "Home", "totalMinutes", 75, "timeFormatted", "1h 15m",
+                        "entryCount", 1),
+                Map.of("categoryId", 11L, "categoryTitle", "Work", "totalMinutes", 45, "timeFormatted", "45m",
+                        "entryCount", 1));
+
+        verify(timeEntryRepository).streamByUserAndEntryDateBetween(user, FRIDAY, SATURDAY);
+        verifyNoMoreInteractions(timeEntryRepository, dailyTaskTotalRepository);
+    }
+
+    @Test
+    void enhancedStatisticsOfAnEmptyRangeAreTheBasicOnes() {
+        when(timeEntryRepository.streamByUserAndEntryDateBetween(user, FRIDAY, SATURDAY)).thenReturn(Stream.empty());
+
+        Map<String, Object> stats = reportService.getEnhancedStatistics(user, FRIDAY, SATURDAY);
+
+        assertThat(stats).containsEntry("totalMinutes", 0)
+                .containsEntry("totalEntries", 0)
+                .doesNotContainKeys("taskBreakdown", "categoryBreakdown", "longestSession");
+    }
+
+    @Test
+    void dailyRangeWalksTheTrackedDaysAndTheirEntriesInStep() throws Exception {
+        ReflectionTestUtils.setField(reportService, "maxRangeDays", 366);
+        LocalDate monday = FRIDAY.plusDays(3);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dailyTaskTotalRepository.streamDailySummaries(1L, FRIDAY, monday)).thenReturn(Stream.of(
+                row(FRIDAY), row(monday)));
+        when(timeEntryRepository.streamByUserAndEntryDateBetween(user, FRIDAY, monday)).thenReturn(Stream.of(
+                entry(backend, FRIDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)),
+                entry(frontend, FRIDAY, LocalTime.of(13, 0), LocalTime.of(13, 30)),
+                entry(reading, monday, LocalTime.of(10, 0), LocalTime.of(10, 45))));
+        List<List<TimeEntry>> validatedDays = new ArrayList<>();
+        when(validationService.validateDayEntries(any(), anyList())).thenAnswer(invocation -> {
+            validatedDays.add(List.copyOf(invocation.<List<TimeEntry>>getArgument(1)));
+            TimeEntryValidationResponse validation = new TimeEntryValidationResponse();
+            validation.setWarnings(List.of());
+            return validation;
+        });
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JsonNode body = objectMapper.readTree(objectMapper.writeValueAsBytes(
+                ApiResponse.success(reportService.getDailySummariesForRange(FRIDAY, monday))));
+
+        // The same envelope as any other ApiResponse
+        JsonNode envelope = objectMapper.valueToTree(ApiResponse.success(Map.of()));
+        assertThat(body.fieldNames()).toIterable().containsExactlyElementsOf(() -> envelope.fieldNames());
+        assertThat(body.get("message").isNull()).isTrue();
+
+        JsonNode days = body.get("data");
+        assertThat(days.fieldNames()).toIterable()
+                .containsExactly("2025-06-13", "2025-06-14", "2025-06-15", "2025-06-16");
+        assertThat(days.get("2025-06-13").get("totalMinutes").asInt()).isEqualTo(150);
+        assertThat(days.get("2025-06-13").get("categoryBreakdowns")).hasSize(2);
+        assertThat(days.get("2025-06-14").get("totalMinutes").asInt()).isZero();
+        assertThat(days.get("2025-06-16").get("totalMinutes").asInt()).isEqualTo(45);
+        assertThat(validatedDays).extracting(List::size).containsExactly(2, 1);
+        verify(entityManager, times(3)).detach(any());
+    }
+
+    // Helpers
+
+    private static DailySummaryRow row(LocalDate date) {
+        return new DailySummaryRow() {
+            @Override
+            public LocalDate getEntryDate() {
+                return date;
+            }
+
+            @Override
+            public Long getTotalMinutes() {
+                return null;
+            }
+
+            @Override
+            public Long getEntryCount() {
+                return null;
+            }
+
+            @Override
+            public Long getCategoriesWorked() {
+                return null;
+            }
+
+            @Override
+            public String getMostUsedTask() {
+                return null;
+            }
+        };
+    }
+
+    private Category category(Long id, String title) {
+        Category category = new Category();
+        category.setId(id);
+        category.setUser(user);
+        category.setTitle(title);
+        return category;
+    }
+
+    private static Task task(Long id, String title, Category category) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setColor("#3498db");
+        task.setCategory(category);
+        return task;
+    }
+
+    private TimeEntry entry(Task task, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        TimeEntry entry = new TimeEntry();
+        entry.setUser(user);
+        entry.setTask(task);
+        entry.setEntryDate(date);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.calculateDurationMinutes();
+        return entry;
+    }
+
+    private DailyTaskTotal total(Task task, LocalDate date, int minutes, int entries) {
+        DailyTaskTotal total = new DailyTaskTotal();
+        total.setUser(user);
+        total.setTask(task);
+        total.setEntryDate(date);
+        total.setTotalMinutes(minutes);
+        total.setEntryCount(entries);
+        total.setBillableMinutes(0);
+        return total;
+    }
+}
@@ -0,0 +1,125 @@
+package com.timetracker.service;
+
+import com.timetracker.entity.Category;
+import com.timetracker.entity.Task;
+import com.timetracker.entity.TimeEntry;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Written files read back with the standard Parquet reader; an aborted file does not.
+ */
+class TimeEntryParquetWriterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 9);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writtenFileRoundTrips() throws IOException {
+        Task task = task();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TimeEntryParquetWriter writer = new TimeEntryParquetWriter(out)) {
+            writer.write(entry(task, DAY, LocalTime.of(9, 0), LocalTime.of(10, 30), "Planning, \"Q3\" — ünïcode", true));
+            writer.write(entry(task, DAY.plusDays(1), LocalTime.of(13, 15), LocalTime.of(14, 0), null, false));
+        }
+
+        List<Group> rows = read(out.toByteArray());
+
+        assertThat(rows).hasSize(2);
+        Group first = rows.get(0);
+        assertThat(first.getInteger("entry_date", 0)).isEqualTo((int) DAY.toEpochDay());
+        assertThat(first.getInteger("start_time", 0)).isEqualTo(9 * 3600 * 1000);
+        assertThat(first.getInteger("end_time", 0)).isEqualTo((10 * 3600 + 30 * 60) * 1000);
+        assertThat(first.getInteger("duration_minutes", 0)).isEqualTo(90);
+        assertThat(first.getLong("task_id", 0)).isEqualTo(100L);
+        assertThat(first.getString("task_title", 0)).isEqualTo("Backend");
+        assertThat(first.getLong("category_id", 0)).isEqualTo(7L);
+        assertThat(first.getString("category_title", 0)).isEqualTo("Work");
+        assertThat(first.getString("description", 0)).isEqualTo("Planning, \"Q3\" — ünïcode");
+        assertThat(first.getBoolean("billable", 0)).isTrue();
+
+        Group second = rows.get(1);
+        assertThat(second.getInteger("entry_date", 0)).isEqualTo((int) DAY.plusDays(1).toEpochDay());
+        assertThat(second.getFieldRepetitionCount("description")).isZero();
+        assertThat(second.getBoolean("billable", 0)).isFalse();
+    }
+
+    @Test
+    void abortedFileHasNoFooter() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TimeEntryParquetWriter writer = new TimeEntryParquetWriter(out);
+        writer.write(entry(task(), DAY, LocalTime.of(9, 0), LocalTime.of(10, 0), null, false));
+        writer.abort();
+
+        byte[] bytes = out.toByteArray();
+        assertThatThrownBy(() -> read(bytes)).isInstanceOf(RuntimeException.class);
+    }
+
+    // Helpers
+
+    private List<Group> read(byte[] bytes) throws IOException {
+        Path file = Files.write(tempDir.resolve("export.parquet"), bytes);
+        List<Group> rows = new ArrayList<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            assertThat(schema).isEqualTo(TimeEntryParquetWriter.SCHEMA);
+
+            PageReadStore rowGroup;
+            while ((rowGroup = reader.readNextRowGroup()) != null) {
+                RecordReader<Group> records = new ColumnIOFactory().getColumnIO(schema)
+                        .getRecordReader(rowGroup, new GroupRecordConverter(schema));
+                for (long i = 0; i < rowGroup.getRowCount(); i++) {
+                    rows.add(records.read());
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static Task task() {
+        Category category = new Category();
+        category.setId(7L);
+        category.setTitle("Work");
+
+        Task task = new Task();
+        task.setId(100L);
+        task.setTitle("Backend");
+        task.setCategory(category);
+        return task;
+    }
+
+    private static TimeEntry entry(Task task, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                   String description, boolean billable) {
+        TimeEntry entry = new TimeEntry();
+        entry.setTask(task);
+        entry.setEntryDate(date);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.calculateDurationMinutes();
+        entry.setDescription(description);
+        entry.setIsBillable(billable);
+        return entry;
+    }
+}